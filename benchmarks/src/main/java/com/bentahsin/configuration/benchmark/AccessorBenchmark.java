@@ -0,0 +1,82 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.core.FieldAccessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the MethodHandle based {@link FieldAccessor} against plain {@link Field} reflection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    public static class Target {
+        public int port = 3306;
+        public double ratio = 0.5;
+        public String host = "localhost";
+    }
+
+    private final Target target = new Target();
+
+    private Field portField;
+    private Field ratioField;
+    private Field hostField;
+
+    private FieldAccessor portAccessor;
+    private FieldAccessor ratioAccessor;
+    private FieldAccessor hostAccessor;
+
+    private int counter;
+
+    @Setup
+    public void setup() throws Exception {
+        portField = Target.class.getDeclaredField("port");
+        ratioField = Target.class.getDeclaredField("ratio");
+        hostField = Target.class.getDeclaredField("host");
+        portField.setAccessible(true);
+        ratioField.setAccessible(true);
+        hostField.setAccessible(true);
+
+        portAccessor = FieldAccessor.of(portField);
+        ratioAccessor = FieldAccessor.of(ratioField);
+        hostAccessor = FieldAccessor.of(hostField);
+    }
+
+    @Benchmark
+    public void reflectionSet() throws IllegalAccessException {
+        int value = counter++;
+        portField.set(target, value);
+        ratioField.set(target, value * 0.5);
+        hostField.set(target, "localhost");
+    }
+
+    @Benchmark
+    public void accessorSet() {
+        int value = counter++;
+        portAccessor.setInt(target, value);
+        ratioAccessor.setDouble(target, value * 0.5);
+        hostAccessor.set(target, "localhost");
+    }
+
+    @Benchmark
+    public void reflectionGet(Blackhole bh) throws IllegalAccessException {
+        bh.consume(portField.get(target));
+        bh.consume(ratioField.get(target));
+        bh.consume(hostField.get(target));
+    }
+
+    @Benchmark
+    public void accessorGet(Blackhole bh) {
+        bh.consume(portAccessor.get(target));
+        bh.consume(ratioAccessor.get(target));
+        bh.consume(hostAccessor.get(target));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.util.ColorTranslator;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A typical chat message with legacy codes and one with a hex color, through {@link ColorTranslator}
+ * (cached and uncached) and through Bukkit's {@link ChatColor#translateAlternateColorCodes}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorTranslatorBenchmark {
+
+    @Param({"&7[&bShop&7] &aYou bought &e%item% &afor &6%price%&a.", "&7[&bShop&7] &#55CCFFSale &aends soon"})
+    public String message;
+
+    @Setup
+    public void setup() {
+        Headless.install();
+    }
+
+    @Benchmark
+    public String translate() {
+        return ColorTranslator.translate(message);
+    }
+
+    @Benchmark
+    public String translateUncached() {
+        return ColorTranslator.translateUncached(message);
+    }
+
+    @Benchmark
+    public String untranslate() {
+        return ColorTranslator.untranslate(ColorTranslator.translate(message));
+    }
+
+    @Benchmark
+    public String bukkitTranslate() {
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.Configuration;
+import com.bentahsin.configuration.benchmark.SyntheticConfigs.KeyedMapConfig;
+import com.bentahsin.configuration.benchmark.SyntheticConfigs.ListConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link Configuration#init} of an existing, up-to-date file: read, parse, bind and the (skipped) write-back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parseCache;
+
+    private Path dataFolder;
+    private Configuration configuration;
+
+    @Setup
+    public void setup() throws IOException {
+        dataFolder = Files.createTempDirectory("config-benchmark");
+        configuration = new Configuration(Headless.plugin(dataFolder.toFile()));
+        configuration.setParseCache(parseCache);
+
+        // Write the files once, so that the measured inits only read them.
+        configuration.init(ListConfig.create(size), "list.yml");
+        configuration.init(KeyedMapConfig.create(size), "maps.yml");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        configuration.shutdown();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public ListConfig initList() {
+        ListConfig config = new ListConfig();
+        configuration.init(config, "list.yml");
+        return config;
+    }
+
+    @Benchmark
+    public KeyedMapConfig initMaps() {
+        KeyedMapConfig config = new KeyedMapConfig();
+        configuration.init(config, "maps.yml");
+        return config;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.converter.impl.CuboidConverter;
+import com.bentahsin.configuration.converter.impl.ItemStackConverter;
+import com.bentahsin.configuration.converter.impl.LocationConverter;
+import com.bentahsin.configuration.converter.impl.TimeConverter;
+import com.bentahsin.configuration.util.Cuboid;
+import com.bentahsin.configuration.util.ItemTemplate;
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both directions of the built-in converters, with values as they appear in real config files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private final TimeConverter timeConverter = new TimeConverter();
+    private final LocationConverter locationConverter = new LocationConverter();
+    private final CuboidConverter cuboidConverter = new CuboidConverter();
+    private final ItemStackConverter itemStackConverter = new ItemStackConverter();
+
+    private final String time = "1d 2h 30m 15s";
+    private final Long seconds = 95_415L;
+
+    private final String location = Headless.WORLD_NAME + ",-1250.5,64,384.25,90,12.5";
+    private Location locationValue;
+
+    private final String cuboid = Headless.WORLD_NAME + ",-100,0,-100,100,255,100";
+    private Cuboid cuboidValue;
+
+    private Map<String, Object> itemSource;
+    private ItemStack itemValue;
+    private ItemTemplate itemTemplate;
+
+    @Setup
+    public void setup() {
+        Headless.install();
+        locationValue = locationConverter.convertToField(location);
+        cuboidValue = cuboidConverter.convertToField(cuboid);
+
+        itemSource = new LinkedHashMap<>();
+        itemSource.put("material", "DIAMOND_SWORD");
+        itemSource.put("amount", 1);
+        itemSource.put("name", "&b&lFrost Blade &#55CCFF*");
+        itemSource.put("lore", Arrays.asList("&7Forged in the northern peaks.", "", "&9+12 Attack Damage", "&8Soulbound"));
+        itemSource.put("unbreakable", true);
+        itemSource.put("flags", Arrays.asList("HIDE_ATTRIBUTES", "HIDE_ENCHANTS"));
+        Map<String, Object> enchantments = new LinkedHashMap<>();
+        enchantments.put("SHARPNESS", 5);
+        enchantments.put("UNBREAKING", 3);
+        itemSource.put("enchantments", enchantments);
+        itemValue = itemStackConverter.convertToField(itemSource);
+        itemTemplate = ItemTemplate.of(itemValue);
+    }
+
+    @Benchmark
+    public Long timeToField() {
+        return timeConverter.convertToField(time);
+    }
+
+    @Benchmark
+    public String timeToConfig() {
+        return timeConverter.convertToConfig(seconds);
+    }
+
+    @Benchmark
+    public Location locationToField() {
+        return locationConverter.convertToField(location);
+    }
+
+    @Benchmark
+    public String locationToConfig() {
+        return locationConverter.convertToConfig(locationValue);
+    }
+
+    @Benchmark
+    public Cuboid cuboidToField() {
+        return cuboidConverter.convertToField(cuboid);
+    }
+
+    @Benchmark
+    public String cuboidToConfig() {
+        return cuboidConverter.convertToConfig(cuboidValue);
+    }
+
+    @Benchmark
+    public ItemStack itemStackToField() {
+        return itemStackConverter.convertToField(itemSource);
+    }
+
+    @Benchmark
+    public Map<String, Object> itemStackToConfig() {
+        return itemStackConverter.convertToConfig(itemValue);
+    }
+
+    /**
+     * What a GUI does per opened inventory slot with an {@link ItemTemplate} field, compared to {@link #itemStackToField}.
+     */
+    @Benchmark
+    public ItemStack itemTemplateCreate() {
+        return itemTemplate.create();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.util.Cuboid;
+import com.bentahsin.configuration.util.CuboidIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Is this block in any region" with {@code size} arena-sized regions spread over a 10k x 10k area,
+ * through a {@link CuboidIndex} and through a linear scan of a {@code List<Cuboid>}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CuboidIndexBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Cuboid> list;
+    private CuboidIndex index;
+    private int[] points;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        list = new ArrayList<>(size);
+        Map<String, Cuboid> regions = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(10_000) - 5_000;
+            int z = random.nextInt(10_000) - 5_000;
+            int y = random.nextInt(100);
+            Cuboid cuboid = new Cuboid(Headless.WORLD_NAME, x, y, z,
+                    x + 8 + random.nextInt(64), y + 16 + random.nextInt(48), z + 8 + random.nextInt(64));
+            list.add(cuboid);
+            regions.put("region-" + i, cuboid);
+        }
+        index = new CuboidIndex(regions);
+
+        points = new int[3 * 1024];
+        for (int i = 0; i < points.length; i += 3) {
+            points[i] = random.nextInt(10_000) - 5_000;
+            points[i + 1] = random.nextInt(128);
+            points[i + 2] = random.nextInt(10_000) - 5_000;
+        }
+    }
+
+    private int nextPoint() {
+        next = (next + 3) % points.length;
+        return next;
+    }
+
+    @Benchmark
+    public boolean index() {
+        int i = nextPoint();
+        return index.contains(Headless.WORLD_NAME, points[i], points[i + 1], points[i + 2]);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int i = nextPoint();
+        for (Cuboid cuboid : list) {
+            if (cuboid.contains(Headless.WORLD_NAME, points[i], points[i + 1], points[i + 2])) return true;
+        }
+        return false;
+    }
+}
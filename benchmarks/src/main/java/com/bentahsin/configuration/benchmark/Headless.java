@@ -0,0 +1,156 @@
+package com.bentahsin.configuration.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Minimal stand-ins for the Bukkit server, so that the benchmarks run on a plain JVM.
+ * <p>
+ * Only what the library touches is implemented: worlds looked up by name, an item factory handing out
+ * map-backed {@link ItemMeta}s and a logger. Every other server method returns a default value.
+ */
+final class Headless {
+
+    static final String WORLD_NAME = "world";
+
+    private static final Logger LOGGER = Logger.getLogger("headless");
+    private static Server server;
+
+    static {
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    private Headless() {
+    }
+
+    /**
+     * Installs the stand-in server as {@link Bukkit#getServer()}. Safe to call from every benchmark.
+     */
+    static synchronized Server install() {
+        if (server != null) return server;
+
+        World world = proxy(World.class, (p, method, args) -> {
+            if (method.getName().equals("getName")) return WORLD_NAME;
+            return defaultValue(p, method, args);
+        });
+        ItemFactory itemFactory = proxy(ItemFactory.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getItemMeta": return newMeta(new HashMap<>());
+                case "isApplicable": return true;
+                case "asMetaFor": return args[0];
+                case "updateMaterial": return args[1];
+                case "equals": return args.length == 2 ? args[0] == args[1] : p == args[0];
+                case "getDefaultLeatherColor": return Color.fromRGB(0xA06540);
+                default: return defaultValue(p, method, args);
+            }
+        });
+        server = proxy(Server.class, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger": return LOGGER;
+                case "getItemFactory": return itemFactory;
+                case "getWorld": return WORLD_NAME.equals(args[0]) ? world : null;
+                case "getWorlds": return Collections.singletonList(world);
+                default: return defaultValue(p, method, args);
+            }
+        });
+        Bukkit.setServer(server);
+        return server;
+    }
+
+    /**
+     * A plugin rooted at the given data folder, using the test constructor of {@link JavaPlugin}.
+     */
+    static JavaPlugin plugin(File dataFolder) {
+        Server server = install();
+        @SuppressWarnings("deprecation")
+        JavaPluginLoader loader = new JavaPluginLoader(server);
+        PluginDescriptionFile description = new PluginDescriptionFile("Benchmark", "1.0", BenchmarkPlugin.class.getName());
+        BenchmarkPlugin plugin = new BenchmarkPlugin(loader, description, dataFolder, new File(dataFolder, "benchmark.jar"));
+        plugin.getLogger().setLevel(Level.WARNING);
+        return plugin;
+    }
+
+    /**
+     * ItemMeta backed by a property map: {@code setX}/{@code getX}/{@code isX}/{@code hasX} work on the
+     * property {@code X}, plus the flag and enchantment collections.
+     */
+    @SuppressWarnings("unchecked")
+    private static ItemMeta newMeta(Map<String, Object> state) {
+        return proxy(ItemMeta.class, (p, method, args) -> {
+            String name = method.getName();
+            int argCount = args == null ? 0 : args.length;
+            switch (name) {
+                case "clone": return newMeta(new HashMap<>(state));
+                case "addItemFlags":
+                    ((Set<Object>) state.computeIfAbsent("ItemFlags", k -> new HashSet<>())).addAll(Arrays.asList((Object[]) args[0]));
+                    return null;
+                case "getItemFlags": return state.getOrDefault("ItemFlags", Collections.emptySet());
+                case "addEnchant":
+                    ((Map<Object, Object>) state.computeIfAbsent("Enchants", k -> new LinkedHashMap<>())).put(args[0], args[1]);
+                    return true;
+                case "getEnchants": return state.getOrDefault("Enchants", Collections.emptyMap());
+                case "hasEnchants": return state.containsKey("Enchants");
+                default: break;
+            }
+            if (name.startsWith("set") && argCount == 1) {
+                state.put(name.substring(3), args[0]);
+                return null;
+            }
+            if (name.startsWith("has") && argCount == 0) return state.containsKey(name.substring(3));
+            if (name.startsWith("get") && argCount == 0 && state.containsKey(name.substring(3))) return state.get(name.substring(3));
+            if (name.startsWith("is") && argCount == 0 && state.containsKey(name.substring(2))) return state.get(name.substring(2));
+            return defaultValue(p, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals": return proxy == args[0];
+            case "hashCode": return System.identityHashCode(proxy);
+            case "toString": return "Headless" + method.getDeclaringClass().getSimpleName();
+            default: break;
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == String.class) return "headless";
+        if (type == List.class || type == Collection.class) return Collections.emptyList();
+        if (type == Set.class) return Collections.emptySet();
+        if (type == Map.class) return Collections.emptyMap();
+        return null;
+    }
+
+    /**
+     * Loaded through the application class loader, which is what allows the test constructor.
+     */
+    public static final class BenchmarkPlugin extends JavaPlugin {
+        BenchmarkPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+            super(loader, description, dataFolder, file);
+        }
+    }
+}
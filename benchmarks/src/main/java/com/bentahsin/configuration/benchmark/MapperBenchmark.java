@@ -0,0 +1,110 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.benchmark.SyntheticConfigs.*;
+import com.bentahsin.configuration.core.ConfigMapper;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ConfigMapper#loadFromConfig} and {@link ConfigMapper#saveToConfig} on in-memory configs of different shapes.
+ * {@code size} is the number of list elements / map entries, or the nesting depth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private ConfigMapper mapper;
+
+    private FlatConfig flat;
+    private NestedConfig nested;
+    private ListConfig list;
+    private KeyedMapConfig maps;
+
+    private MemoryConfiguration flatSource;
+    private MemoryConfiguration nestedSource;
+    private MemoryConfiguration listSource;
+    private MemoryConfiguration mapsSource;
+
+    @Setup
+    public void setup() {
+        Headless.install();
+        Logger logger = Logger.getLogger("benchmark");
+        logger.setLevel(Level.WARNING);
+        mapper = new ConfigMapper(logger);
+
+        flat = new FlatConfig();
+        nested = NestedConfig.create(Math.min(size, 64));
+        list = ListConfig.create(size);
+        maps = KeyedMapConfig.create(size);
+
+        flatSource = saved(flat);
+        nestedSource = saved(nested);
+        listSource = saved(list);
+        mapsSource = saved(maps);
+    }
+
+    private MemoryConfiguration saved(Object instance) {
+        MemoryConfiguration config = new MemoryConfiguration();
+        mapper.saveToConfig(instance, config);
+        return config;
+    }
+
+    @Benchmark
+    public FlatConfig loadFlat() {
+        FlatConfig target = new FlatConfig();
+        mapper.loadFromConfig(target, flatSource);
+        return target;
+    }
+
+    @Benchmark
+    public NestedConfig loadNested() {
+        NestedConfig target = new NestedConfig();
+        mapper.loadFromConfig(target, nestedSource);
+        return target;
+    }
+
+    @Benchmark
+    public ListConfig loadList() {
+        ListConfig target = new ListConfig();
+        mapper.loadFromConfig(target, listSource);
+        return target;
+    }
+
+    @Benchmark
+    public KeyedMapConfig loadMaps() {
+        KeyedMapConfig target = new KeyedMapConfig();
+        mapper.loadFromConfig(target, mapsSource);
+        return target;
+    }
+
+    @Benchmark
+    public MemoryConfiguration saveFlat() {
+        return saved(flat);
+    }
+
+    @Benchmark
+    public MemoryConfiguration saveNested() {
+        return saved(nested);
+    }
+
+    @Benchmark
+    public MemoryConfiguration saveList() {
+        return saved(list);
+    }
+
+    @Benchmark
+    public MemoryConfiguration saveMaps() {
+        return saved(maps);
+    }
+}
@@ -0,0 +1,132 @@
+package com.bentahsin.configuration.benchmark;
+
+import com.bentahsin.configuration.annotation.Comment;
+import com.bentahsin.configuration.annotation.Validate;
+
+import java.util.*;
+
+/**
+ * Config classes of the shapes found in real plugins, with factories that fill them with a given number of entries.
+ */
+public final class SyntheticConfigs {
+
+    private SyntheticConfigs() {
+    }
+
+    public enum Rank { MEMBER, VIP, MVP, HELPER, MODERATOR, ADMIN, OWNER }
+
+    /**
+     * Twenty top-level settings of the usual types.
+     */
+    public static class FlatConfig {
+        @Comment("Database host")
+        public String host = "localhost";
+        @Validate(min = 1, max = 65535)
+        public int port = 3306;
+        public String database = "minecraft";
+        public String username = "root";
+        public String password = "secret";
+        public int poolSize = 10;
+        public long connectionTimeout = 30000L;
+        public boolean useSsl = false;
+        public double spawnRadius = 12.5;
+        public double taxRate = 0.05;
+        public int maxHomes = 3;
+        public int teleportDelay = 5;
+        public boolean pvpEnabled = true;
+        public boolean debug = false;
+        public String prefix = "&8[&bServer&8] &7";
+        public String joinMessage = "&a%player% joined the game";
+        public String quitMessage = "&c%player% left the game";
+        public Rank defaultRank = Rank.MEMBER;
+        public List<String> disabledWorlds = new ArrayList<>(Arrays.asList("world_nether", "world_the_end"));
+        public List<Integer> rewardDays = new ArrayList<>(Arrays.asList(1, 7, 14, 30));
+    }
+
+    /**
+     * A chain of nested sections, {@code depth} levels deep.
+     */
+    public static class NestedConfig {
+        public String name = "root";
+        public int weight = 1;
+        public boolean enabled = true;
+        public NestedConfig child;
+
+        static NestedConfig create(int depth) {
+            NestedConfig root = new NestedConfig();
+            NestedConfig current = root;
+            for (int i = 1; i < depth; i++) {
+                current.child = new NestedConfig();
+                current.child.name = "level-" + i;
+                current.child.weight = i;
+                current = current.child;
+            }
+            return root;
+        }
+    }
+
+    public static class ShopItem {
+        public String id = "";
+        public String material = "STONE";
+        public String displayName = "";
+        public double price = 0;
+        public int stock = 64;
+        public boolean enabled = true;
+    }
+
+    /**
+     * A large list of objects, e.g. a shop catalog.
+     */
+    public static class ListConfig {
+        public List<ShopItem> items = new ArrayList<>();
+
+        static ListConfig create(int size) {
+            ListConfig config = new ListConfig();
+            for (int i = 0; i < size; i++) {
+                ShopItem item = new ShopItem();
+                item.id = "item-" + i;
+                item.material = i % 2 == 0 ? "DIAMOND_SWORD" : "GOLDEN_APPLE";
+                item.displayName = "&6Item #" + i;
+                item.price = 10 + i * 0.25;
+                item.stock = i % 128;
+                item.enabled = i % 10 != 0;
+                config.items.add(item);
+            }
+            return config;
+        }
+    }
+
+    public static class PlayerProfile {
+        public String lastName = "";
+        public long firstJoin = 0;
+        public int kills = 0;
+        public double balance = 0;
+    }
+
+    /**
+     * Maps keyed by enum constants and by UUIDs.
+     */
+    public static class KeyedMapConfig {
+        public Map<Rank, Integer> rankLimits = new HashMap<>();
+        public Map<Rank, String> rankPrefixes = new HashMap<>();
+        public Map<UUID, PlayerProfile> profiles = new HashMap<>();
+
+        static KeyedMapConfig create(int size) {
+            KeyedMapConfig config = new KeyedMapConfig();
+            for (Rank rank : Rank.values()) {
+                config.rankLimits.put(rank, rank.ordinal() * 5 + 1);
+                config.rankPrefixes.put(rank, "&7[" + rank.name() + "] ");
+            }
+            Random random = new Random(size);
+            for (int i = 0; i < size; i++) {
+                PlayerProfile profile = new PlayerProfile();
+                profile.lastName = "Player" + i;
+                profile.firstJoin = 1_600_000_000_000L + i * 86_400_000L;
+                profile.kills = random.nextInt(1000);
+                profile.balance = random.nextInt(100_000) / 100.0;
+                config.profiles.put(new UUID(random.nextLong(), random.nextLong()), profile);
+            }
+            return config;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.bentahsin.configuration.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Generates a {@code ConfigBinder} for every config class, so the library can bind it without reflection.
+ * <p>
+ * A class is treated as a config class when it (or one of its members) carries an annotation from
+ * {@code com.bentahsin.configuration.annotation}; nested config objects used as field, list element or
+ * map value types in the same compilation are picked up as well.
+ * <p>
+ * Mistakes that would otherwise only show up at runtime are reported as compile errors:
+ * <ul>
+ *     <li>Two fields of the same class mapped to the same config path.</li>
+ *     <li>{@code @Validate(pattern = ...)} that is not a valid regex.</li>
+ *     <li>{@code @PostLoad}/{@code @OnReload} methods that take parameters.</li>
+ *     <li>{@code @OnChange} methods with parameters other than a single {@code ConfigChange}.</li>
+ *     <li>Non-static inner config classes.</li>
+ * </ul>
+ * Classes the generated code cannot reach (private fields, private constructor, generic classes)
+ * are skipped with a note and keep using reflection.
+ */
+@SupportedAnnotationTypes("com.bentahsin.configuration.annotation.*")
+public class ConfigBinderProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION_PACKAGE = "com.bentahsin.configuration.annotation.";
+    private static final String BINDER_INTERFACE = "com.bentahsin.configuration.core.ConfigBinder";
+    private static final String SUFFIX = "_ConfigBinder";
+    private static final Pattern KEBAB_PATTERN = Pattern.compile("([a-z])([A-Z]+)");
+
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> sourceTypes = new HashSet<>();
+        for (Element root : roundEnv.getRootElements()) {
+            collectTypes(root, sourceTypes);
+        }
+
+        Deque<TypeElement> queue = new ArrayDeque<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement type = element instanceof TypeElement ? (TypeElement) element : enclosingType(element);
+                if (type != null) queue.add(type);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            TypeElement type = queue.poll();
+            if (type.getKind() != ElementKind.CLASS) continue;
+            if (!processed.add(type.getQualifiedName().toString())) continue;
+
+            List<VariableElement> fields = boundFields(type);
+            boolean valid = check(type, fields);
+            if (valid && isGeneratable(type, fields)) {
+                generate(type, fields);
+            }
+
+            for (VariableElement field : fields) {
+                enqueueNested(field.asType(), sourceTypes, queue);
+            }
+        }
+        return false;
+    }
+
+    private boolean check(TypeElement type, List<VariableElement> fields) {
+        Messager messager = processingEnv.getMessager();
+        boolean valid = true;
+
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "Config class '" + type.getSimpleName() + "' is an inner class and must be declared static", type);
+            valid = false;
+        }
+
+        Map<String, VariableElement> paths = new HashMap<>();
+        for (VariableElement field : fields) {
+            String path = pathKey(field);
+            VariableElement previous = paths.put(path, field);
+            if (previous != null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Config path '" + path + "' of field '" + field.getSimpleName()
+                        + "' collides with field '" + previous.getSimpleName() + "'", field);
+                valid = false;
+            }
+
+            AnnotationMirror validate = annotation(field, "Validate");
+            Object pattern = validate == null ? null : value(validate, "pattern");
+            if (pattern instanceof String && !((String) pattern).isEmpty()) {
+                try {
+                    Pattern.compile((String) pattern);
+                } catch (PatternSyntaxException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Invalid @Validate pattern: " + e.getDescription(), field, validate);
+                    valid = false;
+                }
+            }
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            boolean hook = annotation(method, "PostLoad") != null || annotation(method, "OnReload") != null;
+            if (hook && !method.getParameters().isEmpty()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Lifecycle hook '" + method.getSimpleName() + "' must not take parameters", method);
+                valid = false;
+            }
+
+            List<? extends VariableElement> params = method.getParameters();
+            if (annotation(method, "OnChange") != null && (params.size() > 1 || (params.size() == 1
+                    && !params.get(0).asType().toString().equals("com.bentahsin.configuration.core.ConfigChange")))) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@OnChange method '" + method.getSimpleName()
+                        + "' must take no parameters or a single ConfigChange", method);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private boolean isGeneratable(TypeElement type, List<VariableElement> fields) {
+        String reason = null;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) reason = "it is abstract";
+        else if (!type.getTypeParameters().isEmpty()) reason = "it is generic";
+        else if (!isReachable(type)) reason = "it (or an enclosing class) is private";
+        else if (!hasUsableConstructor(type)) reason = "it has no non-private no-args constructor";
+        else {
+            for (VariableElement field : fields) {
+                if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                    reason = "field '" + field.getSimpleName() + "' is private";
+                    break;
+                }
+            }
+        }
+
+        if (reason != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No ConfigBinder generated for " + type.getQualifiedName() + " because " + reason + "; reflection will be used", type);
+            return false;
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, List<VariableElement> fields) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String flatName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_');
+        String binderName = flatName + SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+        Types types = processingEnv.getTypeUtils();
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? binderName : packageName + "." + binderName, type);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("// Generated by " + ConfigBinderProcessor.class.getName() + ". Do not edit.");
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public final class " + binderName + " implements " + BINDER_INTERFACE + "<" + typeName + "> {");
+                out.println();
+
+                StringBuilder names = new StringBuilder();
+                for (VariableElement field : fields) {
+                    if (names.length() > 0) names.append(", ");
+                    names.append('"').append(field.getSimpleName()).append('"');
+                }
+                out.println("    private static final String[] FIELDS = {" + names + "};");
+                out.println();
+
+                out.println("    @Override");
+                out.println("    public String[] fieldNames() {");
+                out.println("        return FIELDS.clone();");
+                out.println("    }");
+                out.println();
+
+                out.println("    @Override");
+                out.println("    public " + typeName + " newInstance() {");
+                out.println("        return new " + typeName + "();");
+                out.println("    }");
+                out.println();
+
+                out.println("    @Override");
+                out.println("    public void reset(" + typeName + " target) {");
+                out.println("        " + typeName + " defaults = new " + typeName + "();");
+                for (VariableElement field : fields) {
+                    out.println("        target." + field.getSimpleName() + " = defaults." + field.getSimpleName() + ";");
+                }
+                out.println("    }");
+                out.println();
+
+                out.println("    @Override");
+                out.println("    public Object get(" + typeName + " instance, int slot) {");
+                out.println("        switch (slot) {");
+                for (int i = 0; i < fields.size(); i++) {
+                    out.println("            case " + i + ": return instance." + fields.get(i).getSimpleName() + ";");
+                }
+                out.println("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);");
+                out.println("        }");
+                out.println("    }");
+                out.println();
+
+                out.println("    @Override");
+                out.println("    public void set(" + typeName + " instance, int slot, Object value) {");
+                out.println("        switch (slot) {");
+                for (int i = 0; i < fields.size(); i++) {
+                    VariableElement field = fields.get(i);
+                    out.println("            case " + i + ": instance." + field.getSimpleName() + " = (" + castType(types, field.asType()) + ") value; return;");
+                }
+                out.println("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);");
+                out.println("        }");
+                out.println("    }");
+
+                writePrimitiveSetter(out, typeName, "setInt", "int", TypeKind.INT, fields);
+                writePrimitiveSetter(out, typeName, "setLong", "long", TypeKind.LONG, fields);
+                writePrimitiveSetter(out, typeName, "setDouble", "double", TypeKind.DOUBLE, fields);
+                writePrimitiveSetter(out, typeName, "setBoolean", "boolean", TypeKind.BOOLEAN, fields);
+
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write ConfigBinder: " + e.getMessage(), type);
+        }
+    }
+
+    private void writePrimitiveSetter(PrintWriter out, String typeName, String method, String primitive,
+                                      TypeKind kind, List<VariableElement> fields) {
+        out.println();
+        out.println("    @Override");
+        out.println("    public void " + method + "(" + typeName + " instance, int slot, " + primitive + " value) {");
+        out.println("        switch (slot) {");
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).asType().getKind() == kind) {
+                out.println("            case " + i + ": instance." + fields.get(i).getSimpleName() + " = value; return;");
+            }
+        }
+        out.println("            default: set(instance, slot, value);");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private String castType(Types types, TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    /**
+     * Same rule as the runtime schema: non-static, non-final and not {@code @Ignore}d.
+     */
+    private List<VariableElement> boundFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) continue;
+            if (annotation(field, "Ignore") != null) continue;
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private void enqueueNested(TypeMirror type, Set<TypeElement> sourceTypes, Deque<TypeElement> queue) {
+        if (type.getKind() != TypeKind.DECLARED) return;
+        DeclaredType declared = (DeclaredType) type;
+        Element element = declared.asElement();
+        if (element instanceof TypeElement && sourceTypes.contains(element)) {
+            queue.add((TypeElement) element);
+        }
+        for (TypeMirror argument : declared.getTypeArguments()) {
+            enqueueNested(argument, sourceTypes, queue);
+        }
+    }
+
+    private String pathKey(VariableElement field) {
+        AnnotationMirror configPath = annotation(field, "ConfigPath");
+        Object value = configPath == null ? null : value(configPath, "value");
+        if (value instanceof String && !((String) value).isEmpty()) return (String) value;
+        return KEBAB_PATTERN.matcher(field.getSimpleName().toString()).replaceAll("$1-$2").toLowerCase();
+    }
+
+    private boolean isReachable(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) return false;
+        }
+        return true;
+    }
+
+    private boolean hasUsableConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+        return false;
+    }
+
+    private static AnnotationMirror annotation(Element element, String simpleName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            Element annotationType = mirror.getAnnotationType().asElement();
+            if (annotationType instanceof TypeElement
+                    && ((TypeElement) annotationType).getQualifiedName().contentEquals(ANNOTATION_PACKAGE + simpleName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static TypeElement enclosingType(Element element) {
+        Element current = element.getEnclosingElement();
+        while (current != null && !(current instanceof TypeElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (TypeElement) current;
+    }
+
+    private static void collectTypes(Element element, Set<TypeElement> types) {
+        if (element instanceof TypeElement) {
+            types.add((TypeElement) element);
+            for (Element enclosed : element.getEnclosedElements()) {
+                collectTypes(enclosed, types);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.core.ConfigMapper;
+import com.bentahsin.configuration.core.ConfigSchema;
+import com.bentahsin.configuration.validation.ValidationReport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the current instance of a config class and swaps it atomically on reload.
+ * <p>
+ * Every reload builds a brand-new instance, binds the file into it, runs its {@code @PostLoad}
+ * methods and only then publishes it with a single volatile write. Readers calling {@link #get()}
+ * therefore always see a complete snapshot, never defaults or a half-loaded mix, without any locking.
+ * <p>
+ * Read the snapshot once per operation and keep the local reference:
+ * <pre>{@code
+ * MainConfig cfg = handle.get();
+ * if (cfg.enabled) player.sendMessage(cfg.prefix + cfg.message);
+ * }</pre>
+ * Snapshots should be treated as read-only. To change a setting, modify the current snapshot on the
+ * main thread and call {@link #save()}.
+ * <p>
+ * Created by {@link Configuration#handle(Class, String)}.
+ *
+ * @param <T> The config class
+ */
+public final class ConfigHandle<T> {
+
+    private final Configuration configuration;
+    private final Class<T> type;
+    private final String fileName;
+
+    private volatile T current;
+
+    ConfigHandle(Configuration configuration, Class<T> type, String fileName) {
+        this.configuration = configuration;
+        this.type = type;
+        this.fileName = fileName;
+    }
+
+    /**
+     * The latest published snapshot.
+     */
+    public T get() {
+        return current;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Loads the file into a new instance on the calling thread, publishes it and runs its
+     * {@code @OnChange} and {@code @OnReload} methods. If the file is broken or did not change,
+     * the current snapshot stays in place.
+     */
+    public ValidationReport reload() {
+        Configuration.Staged staged = prepare();
+        afterReload(staged);
+        return staged.report;
+    }
+
+    /**
+     * Asynchronous {@link #reload()}, publishing on the server main thread.
+     */
+    public CompletableFuture<ValidationReport> reloadAsync() {
+        return reloadAsync(configuration.mainThreadExecutor());
+    }
+
+    /**
+     * Asynchronous {@link #reload()}. The file is read and bound on the I/O executor; {@code @PostLoad},
+     * the publication and {@code @OnReload} run on {@code mainThread}.
+     */
+    public CompletableFuture<ValidationReport> reloadAsync(Executor mainThread) {
+        return CompletableFuture
+                .supplyAsync(this::prepare, configuration.ioExecutor())
+                .thenApplyAsync(staged -> {
+                    afterReload(staged);
+                    return staged.report;
+                }, mainThread);
+    }
+
+    /**
+     * Writes the current snapshot to the file.
+     */
+    public void save() {
+        configuration.save(current, fileName);
+    }
+
+    /**
+     * Asynchronous {@link #save()}, reading the snapshot on the server main thread.
+     */
+    public CompletableFuture<Void> saveAsync() {
+        return configuration.saveAsync(current, fileName);
+    }
+
+    /**
+     * Publishes the reloaded snapshot and runs the reload hooks. Change listeners and {@code @OnChange}
+     * methods only run if the file content changed since the previous load.
+     */
+    private void afterReload(Configuration.Staged staged) {
+        if (!publish(staged, false)) return;
+
+        T snapshot = current;
+        boolean changed = staged.diff == null || !staged.diff.isEmpty();
+        if (staged.diff != null && changed) {
+            configuration.publishChanges(snapshot, configuration.getFile(fileName), staged.diff);
+        }
+        configuration.getMapper().runOnReload(snapshot, changed);
+    }
+
+    void load() {
+        publish(prepare(), true);
+    }
+
+    private Configuration.Staged prepare() {
+        return configuration.prepare(ConfigSchema.of(type), configuration.getFile(fileName), fileName);
+    }
+
+    /**
+     * Finishes the staged instance and makes it visible. A broken file is only published
+     * on the first load, so that the handle never returns null.
+     */
+    private boolean publish(Configuration.Staged staged, boolean initial) {
+        if (staged.loadFailed && !initial) return false;
+
+        T next = type.cast(staged.instance);
+        ConfigMapper mapper = configuration.getMapper();
+        if (!staged.loadFailed) {
+            configuration.trackWorlds();
+            mapper.runPostLoad(next);
+        }
+        current = next;
+        return true;
+    }
+}
@@ -0,0 +1,206 @@
+package com.bentahsin.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Reloads config files when they are edited on disk.
+ * <p>
+ * Started by {@link Configuration#enableAutoReload()}. One daemon thread watches the directories of all
+ * registered files through a {@link WatchService}:
+ * <ul>
+ *     <li>Events are debounced per file, so an editor writing a file in several steps causes a single reload.</li>
+ *     <li>Only the file that changed is reloaded.</li>
+ *     <li>If the content is exactly what the library wrote last (e.g. the save at the end of a reload),
+ *     nothing happens.</li>
+ *     <li>While a file is reloading, further changes are coalesced into one follow-up reload.</li>
+ * </ul>
+ */
+public final class ConfigWatcher implements AutoCloseable {
+
+    private final Configuration configuration;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /** Watched files per directory. Guarded by {@code this}. */
+    private final Map<Path, Set<Path>> watchedFiles = new HashMap<>();
+    /** Debounce deadlines. Only used by the watcher thread. */
+    private final Map<Path, Long> deadlines = new HashMap<>();
+    /** Files that are reloading / have to reload again afterwards. Guarded by {@code inFlight}. */
+    private final Set<Path> inFlight = new HashSet<>();
+    private final Set<Path> rerun = new HashSet<>();
+
+    private volatile boolean running = true;
+
+    ConfigWatcher(Configuration configuration, long debounceMillis) throws IOException {
+        this.configuration = configuration;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, debounceMillis));
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        this.thread = new Thread(this::run, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts watching the given file. Called for every file registered in {@link Configuration}.
+     */
+    synchronized void watch(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Path dir = path.getParent();
+        if (dir == null) return;
+
+        Set<Path> files = watchedFiles.get(dir);
+        if (files == null) {
+            try {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException | ClosedWatchServiceException e) {
+                configuration.getLogger().warning("Could not watch " + dir + " for config changes: " + e.getMessage());
+                return;
+            }
+            files = new HashSet<>();
+            watchedFiles.put(dir, files);
+        }
+        files.add(path);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {}
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                long wait = nextDeadline();
+                WatchKey key = wait < 0
+                        ? watchService.take()
+                        : watchService.poll(wait, TimeUnit.NANOSECONDS);
+
+                if (key != null) {
+                    collect(key);
+                    key.reset();
+                }
+                fireDue();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // closed
+        }
+    }
+
+    private void collect(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        Set<Path> files;
+        synchronized (this) {
+            Set<Path> watched = watchedFiles.get(dir);
+            if (watched == null) return;
+            files = new HashSet<>(watched);
+        }
+
+        long deadline = System.nanoTime() + debounceNanos;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (Path file : files) deadlines.put(file, deadline);
+                continue;
+            }
+
+            Path file = dir.resolve((Path) event.context());
+            if (files.contains(file)) {
+                deadlines.put(file, deadline);
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the next debounce deadline, or -1 if nothing is pending.
+     */
+    private long nextDeadline() {
+        if (deadlines.isEmpty()) return -1;
+
+        long now = System.nanoTime();
+        long min = Long.MAX_VALUE;
+        for (long deadline : deadlines.values()) {
+            min = Math.min(min, deadline - now);
+        }
+        return Math.max(0, min);
+    }
+
+    private void fireDue() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> it = deadlines.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Long> entry = it.next();
+            if (entry.getValue() - now > 0) continue;
+
+            it.remove();
+            trigger(entry.getKey());
+        }
+    }
+
+    private void trigger(Path path) {
+        synchronized (inFlight) {
+            if (!inFlight.add(path)) {
+                rerun.add(path);
+                return;
+            }
+        }
+
+        boolean started = false;
+        try {
+            CompletableFuture<?> future = reloadIfChanged(path);
+            if (future != null) {
+                started = true;
+                future.whenComplete((result, error) -> {
+                    if (error != null) {
+                        configuration.getLogger().log(Level.WARNING, "Auto reload failed: " + path.getFileName(), error);
+                    }
+                    finished(path);
+                });
+            }
+        } catch (RuntimeException e) {
+            configuration.getLogger().log(Level.WARNING, "Auto reload failed: " + path.getFileName(), e);
+        } finally {
+            if (!started) finished(path);
+        }
+    }
+
+    private void finished(Path path) {
+        boolean again;
+        synchronized (inFlight) {
+            inFlight.remove(path);
+            again = rerun.remove(path);
+        }
+        if (again && running) {
+            configuration.ioExecutor().execute(() -> trigger(path));
+        }
+    }
+
+    private CompletableFuture<?> reloadIfChanged(Path path) {
+        File file = path.toFile();
+        Supplier<CompletableFuture<?>> reloader = configuration.getReloader(file);
+        if (reloader == null || !file.isFile()) return null;
+
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException e) {
+            // Probably still being written; the next event will retry.
+            return null;
+        }
+        if (configuration.isOwnWrite(file, content)) return null;
+
+        configuration.getLogger().info("Config file changed on disk, reloading: " + path.getFileName());
+        return reloader.get();
+    }
+}
@@ -2,26 +2,82 @@ package com.bentahsin.configuration;
 
 import com.bentahsin.configuration.annotation.Backup;
 import com.bentahsin.configuration.annotation.ConfigVersion;
+import com.bentahsin.configuration.core.ConfigChange;
+import com.bentahsin.configuration.core.ConfigChangeListener;
+import com.bentahsin.configuration.core.ConfigDiff;
 import com.bentahsin.configuration.core.ConfigMapper;
+import com.bentahsin.configuration.core.ConfigSchema;
+import com.bentahsin.configuration.metrics.BindStats;
+import com.bentahsin.configuration.metrics.ConfigMetrics;
+import com.bentahsin.configuration.util.AtomicFiles;
 import com.bentahsin.configuration.util.BackupHandler;
+import com.bentahsin.configuration.util.Hashes;
+import com.bentahsin.configuration.validation.ValidationReport;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @SuppressWarnings("unused")
 public class Configuration {
 
+    private static final int IO_THREADS = 2;
+
     private final JavaPlugin plugin;
     private final ConfigMapper mapper;
+    private final Map<File, Object> fileLocks = new ConcurrentHashMap<>();
+    private final Map<File, byte[]> contentDigests = new ConcurrentHashMap<>();
+    private final Map<File, FileState> fileStates = new ConcurrentHashMap<>();
+    private final Map<File, Supplier<CompletableFuture<?>>> reloaders = new ConcurrentHashMap<>();
+    private final Map<File, List<ChangeSubscription>> changeListeners = new ConcurrentHashMap<>();
+
+    private final Map<File, PendingSave> pendingSaves = new ConcurrentHashMap<>();
+    private final Map<File, PendingSave> inFlightSaves = new ConcurrentHashMap<>();
+    private volatile long saveWindowMillis;
+
+    private Executor ioExecutor;
+    private ExecutorService ownedIoExecutor;
+    private ScheduledExecutorService saveTimer;
+    private volatile Executor mainThreadExecutor;
+    private ConfigWatcher watcher;
+    private volatile ParseCache parseCache;
+    private final Set<File> uncachedWrites = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong writesPerformed = new AtomicLong();
+    private final AtomicLong writesSkipped = new AtomicLong();
+    private final ConfigMetrics metrics = new ConfigMetrics();
 
     @SuppressWarnings("unused")
     public Configuration(JavaPlugin plugin) {
         this.plugin = plugin;
         this.mapper = new ConfigMapper(plugin.getLogger());
+        this.mapper.setMetrics(metrics);
+    }
+
+    /**
+     * Once a {@link com.bentahsin.configuration.util.LocationRef} has been bound, registers the shared
+     * {@link WorldTracker} that keeps their cached worlds current. Called on the thread that published the values.
+     */
+    void trackWorlds() {
+        if (mapper.hasBoundLocationRefs()) {
+            WorldTracker.register(plugin);
+        }
     }
 
     /**
@@ -33,6 +89,15 @@ public class Configuration {
      */
     public void init(Object configInstance, String fileName) {
         File file = new File(plugin.getDataFolder(), fileName);
+        register(file, () -> reloadAsync(configInstance, fileName));
+        synchronized (lockFor(file)) {
+            initLocked(configInstance, file, fileName);
+        }
+        trackWorlds();
+    }
+
+    private void initLocked(Object configInstance, File file, String fileName) {
+        ConfigSchema schema = ConfigSchema.of(configInstance.getClass());
 
         if (!file.exists()) {
             createFile(file, fileName);
@@ -42,7 +107,7 @@ public class Configuration {
         boolean loadFailed = false;
 
         try {
-            yamlConfig.load(file);
+            readInto(file, yamlConfig);
         } catch (InvalidConfigurationException e) {
             plugin.getLogger().severe("!!! Critical Error !!!");
             plugin.getLogger().severe(fileName + " is broken! Please check the YAML format.");
@@ -63,20 +128,24 @@ public class Configuration {
         }
 
         if (!loadFailed) {
-            mapper.loadFromConfig(configInstance, yamlConfig);
+            BindStats stats = new BindStats();
+            mapper.bind(configInstance, yamlConfig, stats);
+            metrics.recordBind(metricsName(file), stats);
+            mapper.runPostLoad(configInstance);
         }
 
         if (!loadFailed) {
             mapper.handleVersion(configInstance, yamlConfig);
-        } else if (configInstance.getClass().isAnnotationPresent(ConfigVersion.class)) {
-            int v = configInstance.getClass().getAnnotation(ConfigVersion.class).value();
-            yamlConfig.set("config-version", v);
+        } else if (schema.getVersion() != null) {
+            yamlConfig.set("config-version", schema.getVersion().value());
         }
 
         mapper.saveToConfig(configInstance, yamlConfig);
+        FileState state = new FileState(configInstance.getClass(), yamlConfig, mapper.captureState(configInstance));
 
         try {
-            yamlConfig.save(file);
+            writeFile(file, yamlConfig);
+            remember(file, state);
             if (loadFailed) {
                 plugin.getLogger().warning("Broken file has been backed up and " + fileName + " has been recreated with default settings.");
             }
@@ -87,38 +156,813 @@ public class Configuration {
 
     /**
      * Reloads the configuration.
-     * Essentially calls init() but also triggers @OnReload methods.
+     * <p>
+     * The file is compared with the version loaded last time and only the fields whose values changed
+     * (or that were modified in memory since) are re-bound. {@code @OnChange} methods and change
+     * listeners receive the changed paths. {@code @PostLoad} and {@code @OnReload} methods run on every
+     * reload, except {@code @OnReload(onlyOnChange = true)} ones when nothing changed.
+     * The first reload of an instance, a broken file and a version migration fall back to a full {@link #init}.
      */
     @SuppressWarnings("unused")
     public void reload(Object configInstance, String fileName) {
-        init(configInstance, fileName);
-        mapper.runOnReload(configInstance);
+        File file = new File(plugin.getDataFolder(), fileName);
+        register(file, () -> reloadAsync(configInstance, fileName));
+
+        ConfigDiff diff;
+        synchronized (lockFor(file)) {
+            diff = reloadLocked(configInstance, file, fileName);
+        }
+        trackWorlds();
+
+        boolean changed = diff == null || !diff.isEmpty();
+        if (diff != null && changed) {
+            publishChanges(configInstance, file, diff);
+        }
+        mapper.runOnReload(configInstance, changed);
+    }
+
+    /**
+     * @return the diff against the previous load, or null if a full init was done instead
+     */
+    private ConfigDiff reloadLocked(Object configInstance, File file, String fileName) {
+        FileState previous = fileStates.get(key(file));
+        if (previous == null || previous.type != configInstance.getClass() || !file.exists()) {
+            initLocked(configInstance, file, fileName);
+            return null;
+        }
+
+        YamlConfiguration yamlConfig = new YamlConfiguration();
+        try {
+            readInto(file, yamlConfig);
+        } catch (InvalidConfigurationException | IOException e) {
+            initLocked(configInstance, file, fileName);
+            return null;
+        }
+
+        ConfigVersion version = ConfigSchema.of(configInstance.getClass()).getVersion();
+        if (version != null && yamlConfig.getInt("config-version", 0) < version.value()) {
+            initLocked(configInstance, file, fileName);
+            return null;
+        }
+
+        ConfigDiff diff = ConfigDiff.between(previous.tree, yamlConfig);
+        Object[] fields = previous.fields.clone();
+        BindStats stats = new BindStats();
+        mapper.rebind(configInstance, yamlConfig, diff, fields, stats);
+        metrics.recordBind(metricsName(file), stats);
+
+        try {
+            writeFile(file, yamlConfig);
+            remember(file, new FileState(configInstance.getClass(), yamlConfig, fields));
+        } catch (IOException e) {
+            fileStates.remove(key(file));
+            plugin.getLogger().log(Level.SEVERE, "Error occurred while updating config: " + fileName, e);
+        }
+        return diff;
     }
 
     /**
      * Saves the current object state to the file.
      * Can be called when changing settings via in-game commands.
+     * <p>
+     * If a save window is set ({@link #setSaveWindowMillis(long)}), the write is deferred and repeated
+     * saves of the same file within the window are written once.
      */
     @SuppressWarnings("unused")
     public void save(Object configInstance, String fileName) {
+        long window = saveWindowMillis;
+        if (window > 0) {
+            scheduleSave(configInstance, fileName, window);
+            return;
+        }
+        saveNow(configInstance, fileName);
+    }
+
+    /**
+     * If the file was loaded or saved through this instance and has not been modified on disk since,
+     * only the fields that changed are patched into the cached tree and nothing is read from disk.
+     * Otherwise the file is read again and every field is written.
+     */
+    private void saveNow(Object configInstance, String fileName) {
+        File file = new File(plugin.getDataFolder(), fileName);
+        synchronized (lockFor(file)) {
+            FileState state = fileStates.get(key(file));
+            if (state != null && state.isCurrent(file, configInstance.getClass())) {
+                long start = System.nanoTime();
+                if (!mapper.saveChanged(configInstance, state.tree, state.fields)) {
+                    writesSkipped.incrementAndGet();
+                    metrics.recordSave(metricsName(file), System.nanoTime() - start, 0, false);
+                    return;
+                }
+                try {
+                    writeFile(file, state.tree);
+                    state.stamp(file);
+                } catch (IOException e) {
+                    fileStates.remove(key(file));
+                    plugin.getLogger().log(Level.SEVERE, "Could not save config: " + fileName, e);
+                }
+                return;
+            }
+
+            YamlConfiguration yamlConfig = readExisting(file, fileName);
+            mapper.saveToConfig(configInstance, yamlConfig);
+            state = new FileState(configInstance.getClass(), yamlConfig, mapper.captureState(configInstance));
+
+            try {
+                writeFile(file, yamlConfig);
+                remember(file, state);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not save config: " + fileName, e);
+            }
+        }
+    }
+
+    /**
+     * Asynchronous {@link #init}: reading, parsing, binding and writing the file run on the I/O executor,
+     * the loaded values are copied into {@code configInstance} on the server main thread.
+     *
+     * @see #initAsync(Object, String, Executor)
+     */
+    public CompletableFuture<ValidationReport> initAsync(Object configInstance, String fileName) {
+        return initAsync(configInstance, fileName, mainThreadExecutor());
+    }
+
+    /**
+     * Asynchronous {@link #init}.
+     * <p>
+     * The file is bound into a fresh staging instance on the I/O executor. Only the final commit
+     * (copying the fields into {@code configInstance} and running {@code @PostLoad}) runs on
+     * {@code mainThread}, so readers on that thread never see a half-loaded config.
+     * The config class needs a no-args constructor for this.
+     * <p>
+     * Unlike {@link #init}, values changed by {@code @PostLoad} methods are not written back to the file.
+     *
+     * @param mainThread Executor of the thread that owns the config instance
+     * @return completes with the validation report after the commit
+     */
+    public CompletableFuture<ValidationReport> initAsync(Object configInstance, String fileName, Executor mainThread) {
+        ConfigSchema schema = ConfigSchema.of(configInstance.getClass());
+        File file = new File(plugin.getDataFolder(), fileName);
+        register(file, () -> reloadAsync(configInstance, fileName, mainThread));
+
+        return CompletableFuture
+                .supplyAsync(() -> prepare(schema, file, fileName), ioExecutor())
+                .thenApplyAsync(staged -> commit(configInstance, staged), mainThread);
+    }
+
+    /**
+     * Asynchronous {@link #reload}, committing on the server main thread.
+     *
+     * @see #reloadAsync(Object, String, Executor)
+     */
+    public CompletableFuture<ValidationReport> reloadAsync(Object configInstance, String fileName) {
+        return reloadAsync(configInstance, fileName, mainThreadExecutor());
+    }
+
+    /**
+     * Asynchronous {@link #reload}. Works like {@link #initAsync(Object, String, Executor)} and runs the
+     * {@code @OnReload} methods on {@code mainThread} right after the commit.
+     */
+    public CompletableFuture<ValidationReport> reloadAsync(Object configInstance, String fileName, Executor mainThread) {
+        ConfigSchema schema = ConfigSchema.of(configInstance.getClass());
         File file = new File(plugin.getDataFolder(), fileName);
-        YamlConfiguration yamlConfig = new YamlConfiguration();
 
+        return CompletableFuture
+                .supplyAsync(() -> prepare(schema, file, fileName), ioExecutor())
+                .thenApplyAsync(staged -> {
+                    if (staged.diff == null) {
+                        ValidationReport report = commit(configInstance, staged);
+                        mapper.runOnReload(configInstance);
+                        return report;
+                    }
+
+                    mapper.copyChanged(staged.instance, configInstance, staged.diff, staged.previousFields);
+                    trackWorlds();
+                    mapper.runPostLoad(configInstance);
+                    boolean changed = !staged.diff.isEmpty();
+                    if (changed) {
+                        publishChanges(configInstance, file, staged.diff);
+                    }
+                    mapper.runOnReload(configInstance, changed);
+                    return staged.report;
+                }, mainThread);
+    }
+
+    /**
+     * Asynchronous {@link #save}, reading the instance on the server main thread.
+     *
+     * @see #saveAsync(Object, String, Executor)
+     */
+    public CompletableFuture<Void> saveAsync(Object configInstance, String fileName) {
+        return saveAsync(configInstance, fileName, mainThreadExecutor());
+    }
+
+    /**
+     * Asynchronous {@link #save}.
+     * <p>
+     * Like {@link #save}, a file that has not been modified on disk since it was last read or written
+     * is only patched: the changed fields are written into the cached tree on {@code mainThread} and the
+     * tree is serialized and written on the I/O executor. Otherwise the existing file is read on the
+     * I/O executor and every field is written. The instance itself is only read on {@code mainThread},
+     * so it is never accessed concurrently with the code that modifies it.
+     *
+     * @return completes once the file is written; fails if it could not be written
+     */
+    public CompletableFuture<Void> saveAsync(Object configInstance, String fileName, Executor mainThread) {
+        File file = new File(plugin.getDataFolder(), fileName);
+        Executor io = ioExecutor();
+        Class<?> type = configInstance.getClass();
+
+        return CompletableFuture
+                .supplyAsync(() -> hasCurrentState(file, type), io)
+                .thenApplyAsync(current -> current ? patchState(configInstance, file) : null, mainThread)
+                .thenComposeAsync(patched -> {
+                    if (patched == null || (patched && !writeState(file, fileName))) {
+                        return saveFull(configInstance, file, fileName, mainThread, io);
+                    }
+                    return CompletableFuture.<Void>completedFuture(null);
+                }, io);
+    }
+
+    /**
+     * The full path of {@link #saveAsync(Object, String, Executor)}: reads the existing file, writes
+     * every field into it on {@code mainThread} and writes the result.
+     */
+    private CompletableFuture<Void> saveFull(Object configInstance, File file, String fileName, Executor mainThread, Executor io) {
+        return CompletableFuture
+                .supplyAsync(() -> readExisting(file, fileName), io)
+                .thenApplyAsync(yamlConfig -> {
+                    mapper.saveToConfig(configInstance, yamlConfig);
+                    return new FileState(configInstance.getClass(), yamlConfig, mapper.captureState(configInstance));
+                }, mainThread)
+                .thenAcceptAsync(state -> {
+                    synchronized (lockFor(file)) {
+                        try {
+                            writeFile(file, state.tree);
+                            remember(file, state);
+                        } catch (IOException e) {
+                            plugin.getLogger().log(Level.SEVERE, "Could not save config: " + fileName, e);
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }, io);
+    }
+
+    private boolean hasCurrentState(File file, Class<?> type) {
+        synchronized (lockFor(file)) {
+            FileState state = fileStates.get(key(file));
+            return state != null && state.isCurrent(file, type);
+        }
+    }
+
+    /**
+     * Writes the changed fields of the instance into the remembered tree of the file.
+     *
+     * @return true if something changed, false if nothing did, null if there is no tree to patch any more
+     */
+    private Boolean patchState(Object configInstance, File file) {
+        synchronized (lockFor(file)) {
+            FileState state = fileStates.get(key(file));
+            if (state == null || state.type != configInstance.getClass()) return null;
+
+            long start = System.nanoTime();
+            if (mapper.saveChanged(configInstance, state.tree, state.fields)) return true;
+            writesSkipped.incrementAndGet();
+            metrics.recordSave(metricsName(file), System.nanoTime() - start, 0, false);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the remembered tree of the file after {@link #patchState}.
+     *
+     * @return false if the tree was dropped in the meantime and the caller has to save in full
+     */
+    private boolean writeState(File file, String fileName) {
+        synchronized (lockFor(file)) {
+            FileState state = fileStates.get(key(file));
+            if (state == null) return false;
+            try {
+                writeFile(file, state.tree);
+                state.stamp(file);
+                return true;
+            } catch (IOException e) {
+                fileStates.remove(key(file));
+                plugin.getLogger().log(Level.SEVERE, "Could not save config: " + fileName, e);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener for changes of the given path in the given file, detected on reload.
+     * Changes below the path count as changes of the path.
+     *
+     * @param path The config path to watch (e.g. "shop.items"), or null for every changed path
+     */
+    public void addChangeListener(String fileName, String path, ConfigChangeListener listener) {
+        changeListeners.computeIfAbsent(key(getFile(fileName)), f -> new CopyOnWriteArrayList<>())
+                .add(new ChangeSubscription(path, listener));
+    }
+
+    public void removeChangeListener(String fileName, ConfigChangeListener listener) {
+        List<ChangeSubscription> subscriptions = changeListeners.get(key(getFile(fileName)));
+        if (subscriptions != null) {
+            subscriptions.removeIf(subscription -> subscription.listener == listener);
+        }
+    }
+
+    /**
+     * Runs the {@code @OnChange} methods of the instance and the registered listeners of the file.
+     */
+    void publishChanges(Object configInstance, File file, ConfigDiff diff) {
+        mapper.runOnChange(configInstance, diff);
+
+        List<ChangeSubscription> subscriptions = changeListeners.get(key(file));
+        if (subscriptions == null) return;
+
+        for (ChangeSubscription subscription : subscriptions) {
+            if (subscription.path == null) {
+                for (ConfigChange change : diff.getChanges()) {
+                    notify(subscription, change);
+                }
+            } else {
+                ConfigChange change = diff.get(subscription.path);
+                if (change != null) notify(subscription, change);
+            }
+        }
+    }
+
+    private void notify(ChangeSubscription subscription, ConfigChange change) {
         try {
-            if (file.exists()) {
-                yamlConfig.load(file);
+            subscription.listener.onChange(change);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Error in config change listener for " + change.getPath(), e);
+        }
+    }
+
+    /**
+     * Number of config file writes performed since this instance was created.
+     */
+    public long getWritesPerformed() {
+        return writesPerformed.get();
+    }
+
+    /**
+     * Number of config file writes skipped because the serialized content was identical
+     * to the file on disk.
+     */
+    public long getWritesSkipped() {
+        return writesSkipped.get();
+    }
+
+    /**
+     * Parse, bind, save and backup metrics per file, converter and hook times of this instance.
+     * File names are relative to the plugin's data folder.
+     */
+    public ConfigMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Loads the file into a new instance of {@code type} and returns a handle that always points
+     * to the latest fully loaded instance.
+     * <p>
+     * Unlike {@link #init}, reloads through the handle never modify an instance that is already
+     * visible to other threads; see {@link ConfigHandle}.
+     *
+     * @param type     The config class, needs a no-args constructor
+     * @param fileName The file name (e.g., "config.yml")
+     */
+    public <T> ConfigHandle<T> handle(Class<T> type, String fileName) {
+        ConfigHandle<T> handle = new ConfigHandle<>(this, type, fileName);
+        handle.load();
+        register(getFile(fileName), handle::reloadAsync);
+        return handle;
+    }
+
+    /**
+     * Starts watching every file loaded through this instance (and every file loaded later)
+     * and reloads a file when it is edited on disk. Uses a debounce of 500 ms.
+     *
+     * @see #enableAutoReload(long)
+     */
+    public ConfigWatcher enableAutoReload() {
+        return enableAutoReload(500);
+    }
+
+    /**
+     * Starts watching every file loaded through this instance and reloads a file when it is edited on disk.
+     * <p>
+     * Reloads go through {@link #reloadAsync(Object, String)} (or {@link ConfigHandle#reloadAsync()}), so
+     * {@code @OnReload} methods run on the main thread. Writes made by this library do not trigger a reload.
+     *
+     * @param debounceMillis Quiet period after the last file event before the file is reloaded
+     * @throws UncheckedIOException if the file system does not support watching
+     */
+    public synchronized ConfigWatcher enableAutoReload(long debounceMillis) {
+        if (watcher == null) {
+            try {
+                watcher = new ConfigWatcher(this, debounceMillis);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the config file watcher", e);
+            }
+            for (File file : reloaders.keySet()) {
+                watcher.watch(file);
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Could not load existing config, overwriting: " + fileName);
         }
+        return watcher;
+    }
 
-        mapper.saveToConfig(configInstance, yamlConfig);
+    /**
+     * Stops the file watcher started by {@link #enableAutoReload()}, if any.
+     */
+    public void disableAutoReload() {
+        ConfigWatcher current;
+        synchronized (this) {
+            current = watcher;
+            watcher = null;
+        }
+        if (current != null) current.close();
+    }
 
+    ConfigMapper getMapper() {
+        return mapper;
+    }
+
+    File getFile(String fileName) {
+        return new File(plugin.getDataFolder(), fileName);
+    }
+
+    /**
+     * Enables write-behind for {@link #save}: the first save of a file starts a window of the given length,
+     * and the file is written once at the end of it with the latest state. The instance is serialized on
+     * the main thread, reading and writing the file happens on the I/O executor.
+     * <p>
+     * 0 (the default) writes immediately. Call {@link #flushAll()} (or {@link #shutdown()}) on disable.
+     */
+    public void setSaveWindowMillis(long saveWindowMillis) {
+        this.saveWindowMillis = saveWindowMillis;
+    }
+
+    /**
+     * Enables a binary cache of the parsed files in {@code <data folder>/.cache}. An unchanged file
+     * (same size, modification time and content hash) is then rebuilt from the cache instead of being
+     * parsed as YAML again, which speeds up startup with many or large files. Any change to the file
+     * invalidates its entry, and a broken cache entry is simply ignored.
+     * <p>
+     * Entries are written after a file had to be parsed, and for files written by this instance on
+     * {@link #shutdown()}; saves themselves never touch the cache.
+     * <p>
+     * Off by default.
+     */
+    public void setParseCache(boolean enabled) {
+        this.parseCache = enabled ? new ParseCache(plugin.getDataFolder(), plugin.getLogger()) : null;
+    }
+
+    /**
+     * Writes every deferred save right now, on the calling thread. Must be called on the main thread.
+     */
+    public void flushAll() {
+        Set<File> files = new HashSet<>(pendingSaves.keySet());
+        files.addAll(inFlightSaves.keySet());
+
+        for (File file : files) {
+            PendingSave pending = pendingSaves.remove(file);
+            if (pending == null) pending = inFlightSaves.get(file);
+            if (pending != null) {
+                saveNow(pending.instance, pending.fileName);
+            }
+        }
+    }
+
+    private void scheduleSave(Object configInstance, String fileName, long window) {
+        File file = key(new File(plugin.getDataFolder(), fileName));
+        if (pendingSaves.put(file, new PendingSave(configInstance, fileName)) == null) {
+            saveTimer().schedule(() -> flushDeferred(file), window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushDeferred(File file) {
+        PendingSave pending = pendingSaves.remove(file);
+        if (pending == null) return;
+
+        inFlightSaves.put(file, pending);
+        saveAsync(pending.instance, pending.fileName).whenComplete((result, error) -> {
+            inFlightSaves.remove(file, pending);
+            if (error != null && !(error.getCause() instanceof UncheckedIOException)) {
+                plugin.getLogger().log(Level.WARNING, "Deferred save failed: " + pending.fileName, error);
+            }
+        });
+    }
+
+    /**
+     * Replaces the executor that the async methods use to get back to the main thread.
+     * By default tasks are scheduled with the Bukkit scheduler.
+     */
+    public void setMainThreadExecutor(Executor mainThreadExecutor) {
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    /**
+     * Replaces the executor used for file I/O by the async methods.
+     * By default a small pool of {@value #IO_THREADS} daemon threads is created on first use.
+     */
+    public synchronized void setIoExecutor(Executor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+    }
+
+    /**
+     * Writes deferred saves, then stops the file watcher and the default I/O executor, waiting a few
+     * seconds for pending writes.
+     * Call it from {@code onDisable()} if the async methods or auto reload were used.
+     */
+    public void shutdown() {
+        disableAutoReload();
+        flushAll();
+        WorldTracker.unregister(plugin);
+
+        ExecutorService executor;
+        synchronized (this) {
+            if (saveTimer != null) {
+                saveTimer.shutdownNow();
+                saveTimer = null;
+            }
+            executor = ownedIoExecutor;
+            ownedIoExecutor = null;
+            if (ioExecutor == executor) ioExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Config I/O did not finish in time, pending writes may be lost.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        refreshParseCache();
+    }
+
+    /**
+     * I/O phase of the async load: reads the file and binds it into a fresh instance.
+     * Nothing here touches the caller's config instance.
+     */
+    Staged prepare(ConfigSchema schema, File file, String fileName) {
+        synchronized (lockFor(file)) {
+            if (!file.exists()) {
+                createFile(file, fileName);
+            }
+
+            Object staging = newStagingInstance(schema);
+            YamlConfiguration yamlConfig = new YamlConfiguration();
+            boolean loadFailed = false;
+            ValidationReport report = new ValidationReport();
+            FileState previous = fileStates.get(key(file));
+            ConfigDiff diff = null;
+            Object[] previousFields = null;
+
+            try {
+                readInto(file, yamlConfig);
+            } catch (InvalidConfigurationException e) {
+                plugin.getLogger().severe("!!! Critical Error !!!");
+                plugin.getLogger().severe(fileName + " is broken! Please check the YAML format.");
+
+                handleBackupOnFailure(staging, file);
+                loadFailed = true;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Config file could not be read or is corrupt: " + fileName, e);
+                throw new UncheckedIOException(e);
+            }
+
+            if (!loadFailed) {
+                ConfigVersion version = schema.getVersion();
+                boolean outdated = version != null && yamlConfig.getInt("config-version", 0) < version.value();
+                // An outdated file is migrated as a whole, like reloadLocked does, so no per-path diff.
+                if (!outdated && previous != null && previous.type == schema.getType()) {
+                    diff = ConfigDiff.between(previous.tree, yamlConfig);
+                    previousFields = previous.fields.clone();
+                }
+                handleBackupOnMigration(staging, yamlConfig, file);
+                BindStats stats = new BindStats();
+                report = mapper.bind(staging, yamlConfig, stats);
+                metrics.recordBind(metricsName(file), stats);
+                mapper.handleVersion(staging, yamlConfig);
+            } else if (schema.getVersion() != null) {
+                yamlConfig.set("config-version", schema.getVersion().value());
+            }
+
+            mapper.saveToConfig(staging, yamlConfig);
+            FileState state = new FileState(schema.getType(), yamlConfig, mapper.captureState(staging));
+
+            try {
+                writeFile(file, yamlConfig);
+                remember(file, state);
+                if (loadFailed) {
+                    plugin.getLogger().warning("Broken file has been backed up and " + fileName + " has been recreated with default settings.");
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Error occurred while updating config: " + fileName, e);
+            }
+
+            return new Staged(staging, loadFailed, report, diff, previousFields);
+        }
+    }
+
+    /**
+     * Main-thread phase of the async load: publishes the staged values into the live instance.
+     * A broken file leaves the live instance untouched, like {@link #init} does.
+     */
+    ValidationReport commit(Object configInstance, Staged staged) {
+        if (!staged.loadFailed) {
+            mapper.copyFields(staged.instance, configInstance);
+            trackWorlds();
+            mapper.runPostLoad(configInstance);
+        }
+        return staged.report;
+    }
+
+    private Object newStagingInstance(ConfigSchema schema) {
         try {
-            yamlConfig.save(file);
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not save config: " + fileName, e);
+            return schema.newInstance();
+        } catch (ReflectiveOperationException e) {
+            String name = schema.getType().getSimpleName();
+            if (schema.isNonStaticInnerClass()) {
+                throw new IllegalStateException("Config class '" + name + "' is an Inner Class but NOT STATIC.", e);
+            }
+            throw new IllegalStateException("Async loading needs a no-args constructor in '" + name + "'", e);
+        }
+    }
+
+    private YamlConfiguration readExisting(File file, String fileName) {
+        YamlConfiguration yamlConfig = new YamlConfiguration();
+        synchronized (lockFor(file)) {
+            try {
+                if (file.exists()) {
+                    readInto(file, yamlConfig);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Could not load existing config, overwriting: " + fileName);
+            }
         }
+        return yamlConfig;
+    }
+
+    private Object lockFor(File file) {
+        return fileLocks.computeIfAbsent(key(file), f -> new Object());
+    }
+
+    private static File key(File file) {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    /**
+     * Reads the file in one go and parses it from memory (or takes it from the parse cache),
+     * remembering the hash of the content.
+     */
+    private void readInto(File file, YamlConfiguration yamlConfig) throws IOException, InvalidConfigurationException {
+        long start = System.nanoTime();
+        byte[] data = Files.readAllBytes(file.toPath());
+        byte[] digest = Hashes.sha256(data);
+        contentDigests.put(key(file), digest);
+
+        ParseCache cache = parseCache;
+        if (cache == null || !cache.load(file, digest, yamlConfig)) {
+            yamlConfig.loadFromString(new String(data, StandardCharsets.UTF_8));
+            if (cache != null) {
+                cache.store(file, digest, yamlConfig);
+            }
+        }
+        metrics.recordParse(metricsName(file), System.nanoTime() - start, data.length);
+    }
+
+    /**
+     * Serializes the YAML in memory and writes it only if it differs from what was last read from
+     * (or written to) the file. The hash is also what lets the watcher ignore our own writes.
+     * The write itself is atomic, see {@link AtomicFiles}.
+     *
+     * @return false if the write was skipped because the content did not change
+     */
+    private boolean writeFile(File file, YamlConfiguration yamlConfig) throws IOException {
+        long start = System.nanoTime();
+        byte[] data = yamlConfig.saveToString().getBytes(StandardCharsets.UTF_8);
+        byte[] digest = Hashes.sha256(data);
+
+        File key = key(file);
+        if (Arrays.equals(digest, contentDigests.get(key)) && file.exists()) {
+            writesSkipped.incrementAndGet();
+            metrics.recordSave(metricsName(file), System.nanoTime() - start, 0, false);
+            return false;
+        }
+
+        AtomicFiles.write(file.toPath(), data);
+        contentDigests.put(key, digest);
+        writesPerformed.incrementAndGet();
+        metrics.recordSave(metricsName(file), System.nanoTime() - start, data.length, true);
+        if (parseCache != null) uncachedWrites.add(key);
+        return true;
+    }
+
+    /**
+     * Caches the files written since they were last cached, from the tree that was written, so the next
+     * startup can skip parsing them. Runs on shutdown rather than on every write.
+     */
+    private void refreshParseCache() {
+        ParseCache cache = parseCache;
+        if (cache == null) return;
+
+        for (File file : uncachedWrites) {
+            uncachedWrites.remove(file);
+            synchronized (lockFor(file)) {
+                FileState state = fileStates.get(file);
+                byte[] digest = contentDigests.get(file);
+                if (state != null && digest != null && state.isCurrent(file, state.type)) {
+                    cache.store(file, digest, state.tree);
+                }
+            }
+        }
+    }
+
+    /**
+     * The file's path relative to the data folder, as used for {@link #getMetrics()}.
+     */
+    private String metricsName(File file) {
+        File folder = key(plugin.getDataFolder());
+        String name = folder.toPath().relativize(key(file).toPath()).toString();
+        return File.separatorChar == '/' ? name : name.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Keeps the written tree and field state so the next {@link #save} can patch it in memory.
+     */
+    private void remember(File file, FileState state) {
+        state.stamp(file);
+        fileStates.put(key(file), state);
+    }
+
+    /**
+     * True if the given content is exactly what this library last read from or wrote to the file.
+     */
+    boolean isOwnWrite(File file, byte[] content) {
+        byte[] known = contentDigests.get(key(file));
+        return known != null && Arrays.equals(known, Hashes.sha256(content));
+    }
+
+    Supplier<CompletableFuture<?>> getReloader(File file) {
+        return reloaders.get(key(file));
+    }
+
+    Logger getLogger() {
+        return plugin.getLogger();
+    }
+
+    void register(File file, Supplier<CompletableFuture<?>> reloader) {
+        File key = key(file);
+        boolean added = reloaders.put(key, reloader) == null;
+
+        ConfigWatcher current;
+        synchronized (this) {
+            current = watcher;
+        }
+        if (added && current != null) {
+            current.watch(key);
+        }
+    }
+
+    Executor mainThreadExecutor() {
+        Executor executor = mainThreadExecutor;
+        if (executor != null) return executor;
+        return task -> plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    private synchronized ScheduledExecutorService saveTimer() {
+        if (saveTimer == null) {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = new Thread(task, plugin.getName() + "-config-save");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            saveTimer = timer;
+        }
+        return saveTimer;
+    }
+
+    synchronized Executor ioExecutor() {
+        if (ioExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), task -> {
+                        Thread thread = new Thread(task, plugin.getName() + "-config-io-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            ownedIoExecutor = executor;
+            ioExecutor = executor;
+        }
+        return ioExecutor;
     }
 
     /**
@@ -146,11 +990,11 @@ public class Configuration {
      * Helper: Checks and handles backup on failure (Syntax Error).
      */
     private void handleBackupOnFailure(Object instance, File file) {
-        if (instance.getClass().isAnnotationPresent(Backup.class)) {
-            Backup backup = instance.getClass().getAnnotation(Backup.class);
+        Backup backup = ConfigSchema.of(instance.getClass()).getBackup();
+        if (backup != null) {
             if (backup.enabled() && backup.onFailure()) {
                 plugin.getLogger().info("Backing up broken file...");
-                BackupHandler.createBackup(plugin, file, backup.path(), "broken");
+                recordBackup(file, BackupHandler.createBackup(plugin, file, backup, "broken", ioExecutor()));
             }
         }
     }
@@ -159,19 +1003,97 @@ public class Configuration {
      * Helper: Checks and handles backup on version migration.
      */
     private void handleBackupOnMigration(Object instance, YamlConfiguration config, File file) {
-        if (instance.getClass().isAnnotationPresent(Backup.class) &&
-                instance.getClass().isAnnotationPresent(ConfigVersion.class)) {
+        ConfigSchema schema = ConfigSchema.of(instance.getClass());
+        if (schema.getBackup() != null && schema.getVersion() != null) {
 
-            Backup backup = instance.getClass().getAnnotation(Backup.class);
-            ConfigVersion versionAnno = instance.getClass().getAnnotation(ConfigVersion.class);
+            Backup backup = schema.getBackup();
+            ConfigVersion versionAnno = schema.getVersion();
 
             int fileVersion = config.getInt("config-version", 0);
             int classVersion = versionAnno.value();
 
             if (fileVersion < classVersion && backup.enabled() && backup.onMigration()) {
                 plugin.getLogger().info("Upgrading version (" + fileVersion + " -> " + classVersion + "). Backing up...");
-                BackupHandler.createBackup(plugin, file, backup.path(), "v" + fileVersion);
+                recordBackup(file, BackupHandler.createBackup(plugin, file, backup, "v" + fileVersion, ioExecutor()));
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Records the backup once it is written; the time includes waiting for the I/O executor.
+     */
+    private void recordBackup(File file, CompletableFuture<File> backup) {
+        long start = System.nanoTime();
+        String name = metricsName(file);
+        backup.thenAccept(written -> {
+            if (written != null) metrics.recordBackup(name, System.nanoTime() - start, written.length());
+        });
+    }
+
+    /**
+     * Result of the I/O phase. When the file was broken, {@code instance} only holds the defaults.
+     * {@code diff} and {@code previousFields} are null unless the file had been loaded before.
+     */
+    static final class Staged {
+        final Object instance;
+        final boolean loadFailed;
+        final ValidationReport report;
+        final ConfigDiff diff;
+        final Object[] previousFields;
+
+        private Staged(Object instance, boolean loadFailed, ValidationReport report, ConfigDiff diff, Object[] previousFields) {
+            this.instance = instance;
+            this.loadFailed = loadFailed;
+            this.report = report;
+            this.diff = diff;
+            this.previousFields = previousFields;
+        }
+    }
+
+    private static final class ChangeSubscription {
+        private final String path;
+        private final ConfigChangeListener listener;
+
+        private ChangeSubscription(String path, ConfigChangeListener listener) {
+            this.path = path;
+            this.listener = listener;
+        }
+    }
+
+    private static final class PendingSave {
+        private final Object instance;
+        private final String fileName;
+
+        private PendingSave(Object instance, String fileName) {
+            this.instance = instance;
+            this.fileName = fileName;
+        }
+    }
+
+    /**
+     * Parsed tree of a managed file as last written, plus the saved form of each bound field.
+     * Only valid while the file on disk still has the recorded size and modification time.
+     */
+    private static final class FileState {
+        private final Class<?> type;
+        private final YamlConfiguration tree;
+        private final Object[] fields;
+        private long length;
+        private long lastModified;
+
+        private FileState(Class<?> type, YamlConfiguration tree, Object[] fields) {
+            this.type = type;
+            this.tree = tree;
+            this.fields = fields;
+        }
+
+        private void stamp(File file) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        private boolean isCurrent(File file, Class<?> instanceType) {
+            return type == instanceType && file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.core.ConfigSchema;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+
+/**
+ * Loads many config files at once.
+ * <p>
+ * Reading, parsing and binding of every registered file run in parallel on a fork-join pool; the results
+ * are then committed one by one on the calling thread (copying the values into the registered instances
+ * and running {@code @PostLoad}), in registration order.
+ * <pre>
+ * ConfigurationManager manager = new ConfigurationManager(this)
+ *         .register(mainConfig, "config.yml")
+ *         .register(messages, "messages.yml")
+ *         .register(kits, "kits.yml");
+ * manager.loadAll();
+ * </pre>
+ * Config classes need a no-args constructor to be loaded in parallel; others are loaded with
+ * {@link Configuration#init} during the commit phase.
+ */
+public class ConfigurationManager {
+
+    private final Configuration configuration;
+    private final Map<String, Object> configs = new LinkedHashMap<>();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public ConfigurationManager(JavaPlugin plugin) {
+        this(new Configuration(plugin));
+    }
+
+    public ConfigurationManager(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Registers a config instance and its file. Registering a file again replaces the previous instance.
+     */
+    public ConfigurationManager register(Object configInstance, String fileName) {
+        configs.put(fileName, Objects.requireNonNull(configInstance));
+        return this;
+    }
+
+    /**
+     * The pool used for the parallel phase. Defaults to the common pool.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * The underlying configuration, for saving, reloading or auto reload of single files.
+     */
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Loads every registered file. Blocks until all of them are committed and logs a timing summary.
+     */
+    public LoadReport loadAll() {
+        long start = System.nanoTime();
+
+        List<CompletableFuture<Prepared>> futures = new ArrayList<>(configs.size());
+        for (Map.Entry<String, Object> entry : configs.entrySet()) {
+            String fileName = entry.getKey();
+            Object instance = entry.getValue();
+            ConfigSchema schema = ConfigSchema.of(instance.getClass());
+            File file = configuration.getFile(fileName);
+            configuration.register(file, () -> configuration.reloadAsync(instance, fileName));
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long prepareStart = System.nanoTime();
+                Configuration.Staged staged = configuration.prepare(schema, file, fileName);
+                return new Prepared(staged, System.nanoTime() - prepareStart);
+            }, pool));
+        }
+
+        LoadReport report = new LoadReport();
+        int index = 0;
+        for (Map.Entry<String, Object> entry : configs.entrySet()) {
+            String fileName = entry.getKey();
+            Object instance = entry.getValue();
+
+            Prepared prepared;
+            try {
+                prepared = futures.get(index++).join();
+            } catch (CompletionException e) {
+                configuration.getLogger().log(Level.WARNING, "Parallel load of " + fileName
+                        + " failed, loading it sequentially: " + e.getCause().getMessage());
+                long commitStart = System.nanoTime();
+                configuration.init(instance, fileName);
+                report.add(new LoadReport.FileTiming(fileName, 0, System.nanoTime() - commitStart, true, null));
+                continue;
+            }
+
+            long commitStart = System.nanoTime();
+            configuration.commit(instance, prepared.staged);
+            report.add(new LoadReport.FileTiming(fileName, prepared.nanos, System.nanoTime() - commitStart,
+                    false, prepared.staged.report));
+        }
+
+        report.setTotalNanos(System.nanoTime() - start);
+        report.log(configuration.getLogger());
+        return report;
+    }
+
+    private static final class Prepared {
+        private final Configuration.Staged staged;
+        private final long nanos;
+
+        private Prepared(Configuration.Staged staged, long nanos) {
+            this.staged = staged;
+            this.nanos = nanos;
+        }
+    }
+}
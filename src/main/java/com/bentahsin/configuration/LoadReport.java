@@ -0,0 +1,111 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.validation.ValidationReport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Timings of a {@link ConfigurationManager#loadAll()} run.
+ */
+public final class LoadReport {
+
+    private final List<FileTiming> files = new ArrayList<>();
+    private long totalNanos;
+
+    void add(FileTiming timing) {
+        files.add(timing);
+    }
+
+    void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    public List<FileTiming> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Wall-clock time of the whole run, including the parallel phase and all commits.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Logs a one-line summary, and one line per file at {@link Level#FINE}.
+     */
+    public void log(Logger logger) {
+        long prepareSum = 0;
+        FileTiming slowest = null;
+        for (FileTiming file : files) {
+            prepareSum += file.prepareNanos;
+            if (slowest == null || file.prepareNanos + file.commitNanos > slowest.prepareNanos + slowest.commitNanos) {
+                slowest = file;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Loaded ").append(files.size()).append(" config file(s) in ").append(millis(totalNanos)).append(" ms")
+                .append(" (parse+bind total: ").append(millis(prepareSum)).append(" ms");
+        if (slowest != null) {
+            sb.append(", slowest: ").append(slowest.fileName).append(' ')
+                    .append(millis(slowest.prepareNanos + slowest.commitNanos)).append(" ms");
+        }
+        sb.append(')');
+        logger.info(sb.toString());
+
+        if (logger.isLoggable(Level.FINE)) {
+            for (FileTiming file : files) {
+                logger.fine("  " + file);
+            }
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Timing of a single file: the parallel read/parse/bind phase and the commit on the calling thread.
+     */
+    public static final class FileTiming {
+        private final String fileName;
+        private final long prepareNanos;
+        private final long commitNanos;
+        private final boolean fallback;
+        private final ValidationReport validation;
+
+        FileTiming(String fileName, long prepareNanos, long commitNanos, boolean fallback, ValidationReport validation) {
+            this.fileName = fileName;
+            this.prepareNanos = prepareNanos;
+            this.commitNanos = commitNanos;
+            this.fallback = fallback;
+            this.validation = validation;
+        }
+
+        public String getFileName() { return fileName; }
+        public long getPrepareNanos() { return prepareNanos; }
+        public long getCommitNanos() { return commitNanos; }
+
+        /**
+         * True if the file could not be prepared in parallel and was loaded with {@link Configuration#init} instead.
+         */
+        public boolean isFallback() { return fallback; }
+
+        /**
+         * Validation result of the file, or null for a fallback load.
+         */
+        public ValidationReport getValidation() { return validation; }
+
+        @Override
+        public String toString() {
+            return fileName + ": prepare " + millis(prepareNanos) + " ms, commit " + millis(commitNanos) + " ms"
+                    + (fallback ? " (sequential fallback)" : "");
+        }
+    }
+}
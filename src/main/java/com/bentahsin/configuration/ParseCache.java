@@ -0,0 +1,310 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.util.AtomicFiles;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary cache of parsed config trees, so that unchanged files skip the YAML parser on startup.
+ * <p>
+ * Each entry is keyed by the size, modification time and SHA-256 of the YAML file and holds the
+ * value tree, the header and (on servers that keep them) the comments. Only the plain YAML value
+ * types are encoded, each to exactly what the parser produces for it; a tree holding anything else is
+ * not cached. Corrupt or stale entries are ignored and the file is parsed normally.
+ */
+final class ParseCache {
+
+    private static final int MAGIC = 0x43464743; // "CFGC"
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0, STRING = 1, INT = 2, LONG = 3, DOUBLE = 4, BOOLEAN = 5,
+            LIST = 6, MAP = 7, SECTION = 8, BIG_INTEGER = 9;
+
+    private static final MethodHandle GET_COMMENTS = commentHandle("getComments", List.class, String.class);
+    private static final MethodHandle GET_INLINE_COMMENTS = commentHandle("getInlineComments", List.class, String.class);
+    private static final MethodHandle SET_COMMENTS = commentHandle("setComments", void.class, String.class, List.class);
+    private static final MethodHandle SET_INLINE_COMMENTS = commentHandle("setInlineComments", void.class, String.class, List.class);
+
+    private final File dataFolder;
+    private final File cacheFolder;
+    private final Logger logger;
+
+    ParseCache(File dataFolder, Logger logger) {
+        this.dataFolder = dataFolder;
+        this.cacheFolder = new File(dataFolder, ".cache");
+        this.logger = logger;
+    }
+
+    /**
+     * Fills the empty {@code target} from the cache if there is a valid entry for exactly this content.
+     * The tree is decoded straight into {@code target}, so all its sections belong to it.
+     *
+     * @return false on a miss; {@code target} is still empty in that case
+     */
+    boolean load(File file, byte[] digest, YamlConfiguration target) {
+        File cacheFile = cacheFile(file);
+        if (!cacheFile.isFile()) return false;
+
+        boolean decoding = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return invalid(cacheFile);
+            if (in.readLong() != file.length() || in.readLong() != file.lastModified()) return false;
+
+            byte[] cachedDigest = new byte[in.readUnsignedShort()];
+            in.readFully(cachedDigest);
+            if (!Arrays.equals(cachedDigest, digest)) return false;
+
+            decoding = true;
+            read(in, target);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, "Ignoring corrupt parse cache " + cacheFile.getName(), e);
+            if (decoding) clear(target);
+            return invalid(cacheFile);
+        }
+    }
+
+    /**
+     * Caches the tree read from the file, whose content hashes to {@code digest}. Nothing is cached
+     * if the tree contains values the cache cannot represent.
+     */
+    void store(File file, byte[] digest, YamlConfiguration tree) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(file.length());
+            out.writeLong(file.lastModified());
+            out.writeShort(digest.length);
+            out.write(digest);
+            if (!write(out, tree)) return;
+            out.flush();
+
+            AtomicFiles.write(cacheFile(file).toPath(), bytes.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, "Could not write parse cache for " + file.getName(), e);
+        }
+    }
+
+    private File cacheFile(File file) {
+        Path folder = dataFolder.toPath().toAbsolutePath().normalize();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        String relative = path.startsWith(folder)
+                ? folder.relativize(path).toString()
+                : Integer.toHexString(path.toString().hashCode()) + "_" + path.getFileName();
+        return new File(cacheFolder, relative + ".bin");
+    }
+
+    private static boolean invalid(File cacheFile) {
+        try {
+            Files.deleteIfExists(cacheFile.toPath());
+        } catch (IOException ignored) {}
+        return false;
+    }
+
+    // --- encoding ---
+
+    private static boolean write(DataOutputStream out, YamlConfiguration tree) throws IOException {
+        writeString(out, tree.options().header());
+        if (!writeValue(out, tree)) return false;
+
+        List<String> paths = new ArrayList<>();
+        List<List<?>> comments = new ArrayList<>();
+        List<List<?>> inlineComments = new ArrayList<>();
+        if (GET_COMMENTS != null && GET_INLINE_COMMENTS != null) {
+            for (String path : tree.getKeys(true)) {
+                List<?> block = invokeGet(GET_COMMENTS, tree, path);
+                List<?> inline = invokeGet(GET_INLINE_COMMENTS, tree, path);
+                if (block.isEmpty() && inline.isEmpty()) continue;
+                paths.add(path);
+                comments.add(block);
+                inlineComments.add(inline);
+            }
+        }
+
+        out.writeInt(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            writeString(out, paths.get(i));
+            if (!writeValue(out, comments.get(i)) || !writeValue(out, inlineComments.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!writeValue(out, element)) return false;
+            }
+        } else if (value instanceof ConfigurationSection) {
+            ConfigurationSection section = (ConfigurationSection) value;
+            Set<String> keys = section.getKeys(false);
+            out.writeByte(SECTION);
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                writeString(out, key);
+                if (!writeValue(out, section.get(key))) return false;
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!writeValue(out, entry.getKey()) || !writeValue(out, entry.getValue())) return false;
+            }
+        } else {
+            // Dates, serialized Bukkit objects etc.: not worth a format of their own.
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // --- decoding ---
+
+    private static void read(DataInputStream in, YamlConfiguration target) throws IOException {
+        target.options().header(readString(in));
+        if (in.readByte() != SECTION) throw new IOException("Root is not a section");
+        readSection(in, target);
+
+        int commentCount = in.readInt();
+        for (int i = 0; i < commentCount; i++) {
+            String path = readString(in);
+            List<?> block = (List<?>) readValue(in, null, null);
+            List<?> inline = (List<?>) readValue(in, null, null);
+            if (SET_COMMENTS == null || SET_INLINE_COMMENTS == null) continue;
+            invokeSet(SET_COMMENTS, target, path, block);
+            invokeSet(SET_INLINE_COMMENTS, target, path, inline);
+        }
+    }
+
+    private static void readSection(DataInputStream in, ConfigurationSection section) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            Object value = readValue(in, section, key);
+            if (value != null) section.set(key, value);
+        }
+    }
+
+    /**
+     * Reads a value. Sections are created directly in {@code parent} and return null.
+     */
+    private static Object readValue(DataInputStream in, ConfigurationSection parent, String key) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL: return null;
+            case STRING: return readString(in);
+            case INT: return in.readInt();
+            case LONG: return in.readLong();
+            case DOUBLE: return in.readDouble();
+            case BOOLEAN: return in.readBoolean();
+            case BIG_INTEGER: return new BigInteger(readString(in));
+            case LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(in, null, null));
+                return list;
+            }
+            case MAP: {
+                int size = in.readInt();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) map.put(readValue(in, null, null), readValue(in, null, null));
+                return map;
+            }
+            case SECTION:
+                if (parent == null) throw new IOException("Section outside of a section");
+                readSection(in, parent.createSection(key));
+                return null;
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes whatever a failed decode left in {@code target}, so the file can be parsed into it normally.
+     */
+    private static void clear(YamlConfiguration target) {
+        for (String key : target.getKeys(false)) {
+            target.set(key, null);
+        }
+        target.options().header(null);
+    }
+
+    // --- comment API (1.18+) ---
+
+    private static MethodHandle commentHandle(String name, Class<?> returnType, Class<?>... params) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(ConfigurationSection.class, name, MethodType.methodType(returnType, params));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static List<?> invokeGet(MethodHandle handle, ConfigurationSection section, String path) {
+        try {
+            List<?> result = (List<?>) handle.invoke(section, path);
+            return result == null ? Collections.emptyList() : result;
+        } catch (Throwable t) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static void invokeSet(MethodHandle handle, ConfigurationSection section, String path, List<?> value) {
+        try {
+            handle.invoke(section, path, value);
+        } catch (Throwable ignored) {}
+    }
+}
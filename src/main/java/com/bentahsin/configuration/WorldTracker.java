@@ -0,0 +1,71 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.util.LocationRef;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+/**
+ * Drops the worlds cached by {@link LocationRef}s whenever a world is loaded or unloaded.
+ * <p>
+ * One listener is shared by all {@link Configuration}s. It is registered the first time a {@code LocationRef}
+ * is bound while the plugin is enabled, and removed when the owning plugin's configuration shuts down.
+ * Until then, {@code LocationRef}s look their world up on every access.
+ */
+final class WorldTracker implements Listener {
+
+    private static WorldTracker registered;
+
+    private final Plugin owner;
+
+    private WorldTracker(Plugin owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Registers the shared listener for {@code plugin} unless one is registered already.
+     * Does nothing while the plugin is not enabled (e.g. in {@code onLoad}), since Bukkit rejects listeners then.
+     */
+    static synchronized void register(Plugin plugin) {
+        if (registered != null || !plugin.isEnabled()) return;
+
+        PluginManager pluginManager = plugin.getServer() == null ? null : plugin.getServer().getPluginManager();
+        if (pluginManager == null) return;
+
+        WorldTracker tracker = new WorldTracker(plugin);
+        try {
+            pluginManager.registerEvents(tracker, plugin);
+        } catch (RuntimeException e) {
+            plugin.getLogger().fine("Could not register world listener, LocationRef worlds are looked up on every access: " + e.getMessage());
+            return;
+        }
+        registered = tracker;
+        LocationRef.setWorldEventsTracked(true);
+    }
+
+    /**
+     * Removes the shared listener if {@code plugin} registered it.
+     */
+    static synchronized void unregister(Plugin plugin) {
+        if (registered == null || registered.owner != plugin) return;
+
+        HandlerList.unregisterAll(registered);
+        registered = null;
+        LocationRef.setWorldEventsTracked(false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        LocationRef.invalidateWorlds();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        LocationRef.invalidateWorlds();
+    }
+}
@@ -30,4 +30,16 @@ public @interface Backup {
      * should a backup of the old config file be taken?
      */
     boolean onMigration() default true;
+
+    /**
+     * Maximum number of backups kept per config file; older ones are deleted.
+     * 0 keeps all of them.
+     */
+    int maxCount() default 0;
+
+    /**
+     * Backups older than this are deleted, e.g. "7d" or "12h". Empty keeps them regardless of age.
+     * The newest backup is never deleted.
+     */
+    String maxAge() default "";
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.bentahsin.configuration.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Renk kodlarını ({@code &a}, {@code &#55CCFF}) yükleme sırasında çevirir, kaydederken geri yazar.
+ * {@code String} alanlarda ve {@code List<String>} / {@code Map<?, String>} alanların değerlerinde çalışır.
+ * Dosyada henüz olmayan anahtarlarda alanın Java varsayılanı da çevrilir.
+ *
+ * @see com.bentahsin.configuration.util.ColorTranslator
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Colored {}
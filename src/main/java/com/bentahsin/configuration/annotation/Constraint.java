@@ -0,0 +1,18 @@
+package com.bentahsin.configuration.annotation;
+
+import com.bentahsin.configuration.validation.ConfigConstraint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cross-field checks that run after all fields of the class have been loaded.
+ * Failures are added to the load's {@link com.bentahsin.configuration.validation.ValidationReport}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Constraint {
+    Class<? extends ConfigConstraint<?>>[] value();
+}
@@ -0,0 +1,30 @@
+package com.bentahsin.configuration.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reload sırasında belirtilen config yollarından biri değiştiğinde çalışacak metodu işaretler.
+ * <p>
+ * Bir yolun altındaki herhangi bir değer değişirse yolun kendisi de değişmiş sayılır:
+ * {@code @OnChange("shop.items")}, {@code shop.items.sword.price} değiştiğinde de çalışır.
+ * <p>
+ * Metod parametre almayabilir (değişen yol sayısından bağımsız olarak bir kez çağrılır) veya tek bir
+ * {@link com.bentahsin.configuration.core.ConfigChange} parametresi alabilir (değişen her yol için bir kez çağrılır,
+ * eski ve yeni değerlerle).
+ * <pre>
+ * &#64;OnChange("shop.items")
+ * private void rebuildShop(ConfigChange change) { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface OnChange {
+
+    /**
+     * Takip edilecek config yolları (örn. "shop.items").
+     */
+    String[] value();
+}
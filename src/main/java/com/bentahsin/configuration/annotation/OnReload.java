@@ -11,4 +11,23 @@ import java.lang.annotation.Target;
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
-public @interface OnReload {}
\ No newline at end of file
+public @interface OnReload {
+
+    /**
+     * Execution order. Lower values run first; ties are ordered by method name.
+     */
+    int order() default 0;
+
+    /**
+     * Runs the method on the mapper's async executor instead of the reloading thread.
+     * Use it for heavy cache rebuilds that must not stall the server tick.
+     * The method must not touch the Bukkit API.
+     */
+    boolean async() default false;
+
+    /**
+     * Skips the method when a reload found the file unchanged. Work that depends on specific
+     * settings is better placed in an {@link OnChange} method.
+     */
+    boolean onlyOnChange() default false;
+}
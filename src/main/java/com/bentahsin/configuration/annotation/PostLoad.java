@@ -21,4 +21,10 @@ import java.lang.annotation.Target;
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
-public @interface PostLoad {}
\ No newline at end of file
+public @interface PostLoad {
+
+    /**
+     * Çalışma sırası. Küçük değerler önce çalışır; eşitse metod adına göre sıralanır.
+     */
+    int order() default 0;
+}
@@ -18,4 +18,14 @@ public @interface Validate {
      * Örn: "^#([A-Fa-f0-9]{6})$" (Hex renk kodu)
      */
     String pattern() default "";
+
+    /**
+     * List/Map alanları için en az eleman sayısı.
+     */
+    int minSize() default 0;
+
+    /**
+     * List/Map alanları için en fazla eleman sayısı.
+     */
+    int maxSize() default Integer.MAX_VALUE;
 }
\ No newline at end of file
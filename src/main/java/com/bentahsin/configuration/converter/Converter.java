@@ -1,5 +1,10 @@
 package com.bentahsin.configuration.converter;
 
+/**
+ * Converts between a raw config value and a field value.
+ * <p>
+ * Instances are shared through {@link ConverterRegistry}, so implementations must be stateless or thread-safe.
+ */
 public interface Converter<S, T> {
     /**
      * Config dosyasından gelen veriyi (S), sınıf değişkenine (T) çevirir.
@@ -0,0 +1,92 @@
+package com.bentahsin.configuration.converter;
+
+import com.bentahsin.configuration.converter.impl.CuboidConverter;
+import com.bentahsin.configuration.converter.impl.CuboidIndexConverter;
+import com.bentahsin.configuration.converter.impl.DurationConverter;
+import com.bentahsin.configuration.converter.impl.ItemStackConverter;
+import com.bentahsin.configuration.converter.impl.ItemTemplateConverter;
+import com.bentahsin.configuration.converter.impl.LocationConverter;
+import com.bentahsin.configuration.converter.impl.LocationRefConverter;
+import com.bentahsin.configuration.util.Cuboid;
+import com.bentahsin.configuration.util.CuboidIndex;
+import com.bentahsin.configuration.util.ItemTemplate;
+import com.bentahsin.configuration.util.LocationRef;
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one shared instance per converter class and the default converter of each target type.
+ * <p>
+ * Fields whose type has a registered converter (e.g. {@link Location}, {@link Cuboid}, {@link ItemStack}, {@link Duration})
+ * are converted automatically, also as list elements or map values, without needing {@code @Transform}.
+ * <p>
+ * <b>Note:</b> Converters are resolved once when a config class is first used,
+ * so custom converters must be registered before the first {@code init} call (e.g. in {@code onEnable}).
+ * Because instances are shared, converters must be stateless or thread-safe.
+ */
+public final class ConverterRegistry {
+
+    private static final ClassValue<Converter<?, ?>> INSTANCES = new ClassValue<Converter<?, ?>>() {
+        @Override
+        protected Converter<?, ?> computeValue(Class<?> type) {
+            try {
+                return (Converter<?, ?>) type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Converter '" + type.getName() + "' needs a public no-args constructor", e);
+            }
+        }
+    };
+
+    private static final Map<Class<?>, Converter<?, ?>> BY_TYPE = new ConcurrentHashMap<>();
+
+    static {
+        register(Location.class, LocationConverter.class);
+        register(LocationRef.class, LocationRefConverter.class);
+        register(Cuboid.class, CuboidConverter.class);
+        register(CuboidIndex.class, CuboidIndexConverter.class);
+        register(ItemStack.class, ItemStackConverter.class);
+        register(ItemTemplate.class, ItemTemplateConverter.class);
+        register(Duration.class, DurationConverter.class);
+    }
+
+    private ConverterRegistry() {}
+
+    /**
+     * Returns the shared instance of the given converter class, creating it on first use.
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Converter<?, ?>> C get(Class<C> converterClass) {
+        return (C) INSTANCES.get(converterClass);
+    }
+
+    /**
+     * Registers the default converter for a target type, replacing any previous one.
+     */
+    public static <T> void register(Class<T> targetType, Converter<?, T> converter) {
+        BY_TYPE.put(targetType, converter);
+    }
+
+    /**
+     * Registers the shared instance of {@code converterClass} as the default converter for a target type.
+     */
+    public static <T> void register(Class<T> targetType, Class<? extends Converter<?, T>> converterClass) {
+        register(targetType, get(converterClass));
+    }
+
+    /**
+     * Finds the converter registered for the given type or its closest registered superclass.
+     *
+     * @return the converter, or {@code null} if the type has no converter
+     */
+    public static Converter<?, ?> find(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            Converter<?, ?> converter = BY_TYPE.get(current);
+            if (converter != null) return converter;
+        }
+        return null;
+    }
+}
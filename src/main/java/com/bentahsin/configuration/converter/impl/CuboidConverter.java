@@ -10,15 +10,8 @@ public class CuboidConverter implements Converter<String, Cuboid> {
     public Cuboid convertToField(String source) {
         if (source == null || source.isEmpty()) return null;
         try {
-            String[] split = source.split(",");
-            if (split.length < 7) return null;
-
-            return new Cuboid(
-                    split[0],
-                    Integer.parseInt(split[1]), Integer.parseInt(split[2]), Integer.parseInt(split[3]),
-                    Integer.parseInt(split[4]), Integer.parseInt(split[5]), Integer.parseInt(split[6])
-            );
-        } catch (Exception e) {
+            return Cuboid.parse(source);
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
@@ -28,4 +21,4 @@ public class CuboidConverter implements Converter<String, Cuboid> {
         if (source == null) return null;
         return source.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.bentahsin.configuration.converter.impl;
+
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.util.Cuboid;
+import com.bentahsin.configuration.util.CuboidIndex;
+import org.bukkit.Bukkit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A section of {@code id: "world,x1,y1,z1,x2,y2,z2"} entries as a {@link CuboidIndex}.
+ * Malformed entries are skipped with a warning.
+ */
+@SuppressWarnings("unused")
+public class CuboidIndexConverter implements Converter<Map<String, Object>, CuboidIndex> {
+
+    @Override
+    public CuboidIndex convertToField(Map<String, Object> source) {
+        if (source == null) return new CuboidIndex();
+
+        Map<String, Cuboid> regions = new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            try {
+                regions.put(String.valueOf(entry.getKey()), Cuboid.parse(String.valueOf(entry.getValue())));
+            } catch (IllegalArgumentException e) {
+                Bukkit.getLogger().warning("[Configuration] Region '" + entry.getKey() + "' skipped: " + e.getMessage());
+            }
+        }
+        return new CuboidIndex(regions);
+    }
+
+    @Override
+    public Map<String, Object> convertToConfig(CuboidIndex source) {
+        if (source == null) return null;
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Cuboid> entry : source.asMap().entrySet()) {
+            map.put(entry.getKey(), entry.getValue().toString());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bentahsin.configuration.converter.impl;
+
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.util.TimeParser;
+
+import java.time.Duration;
+
+/**
+ * {@link Duration} fields, written as {@code "1h 30m"}. Registered by default, no {@code @Transform} needed.
+ */
+@SuppressWarnings("unused")
+public class DurationConverter implements Converter<String, Duration> {
+
+    @Override
+    public Duration convertToField(String source) {
+        if (source == null || source.isEmpty()) return Duration.ZERO;
+        return TimeParser.parseDuration(source);
+    }
+
+    @Override
+    public String convertToConfig(Duration source) {
+        if (source == null) return "0s";
+        return TimeParser.format(source.toMillis());
+    }
+}
@@ -1,8 +1,8 @@
 package com.bentahsin.configuration.converter.impl;
 
 import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.util.ColorTranslator;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Color;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -10,22 +10,28 @@ import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.*;
+import org.bukkit.potion.PotionType;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.*;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @SuppressWarnings({"unused", "deprecation"})
 public class ItemStackConverter implements Converter<Map<String, Object>, ItemStack> {
 
     private static final boolean SUPPORTS_POTION_DATA;
-    private static final boolean SUPPORTS_HEX;
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
 
-    private static Method CHAT_COLOR_OF_METHOD;
+    /*
+     * Version-dependent calls, resolved once; null where the server does not have them.
+     */
+    private static final MethodHandle SET_CUSTOM_MODEL_DATA;
+    private static final MethodHandle HAS_CUSTOM_MODEL_DATA;
+    private static final MethodHandle GET_CUSTOM_MODEL_DATA;
+    private static final MethodHandle SET_BASE_POTION_TYPE;
+    private static final MethodHandle GET_BASE_POTION_TYPE;
 
     static {
         boolean potionSupport = false;
@@ -35,15 +41,19 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
         } catch (ClassNotFoundException ignored) {}
         SUPPORTS_POTION_DATA = potionSupport;
 
-        boolean hexSupport = false;
+        SET_CUSTOM_MODEL_DATA = findVirtual(ItemMeta.class, "setCustomModelData", MethodType.methodType(void.class, Integer.class));
+        HAS_CUSTOM_MODEL_DATA = findVirtual(ItemMeta.class, "hasCustomModelData", MethodType.methodType(boolean.class));
+        GET_CUSTOM_MODEL_DATA = findVirtual(ItemMeta.class, "getCustomModelData", MethodType.methodType(int.class));
+        SET_BASE_POTION_TYPE = findVirtual(PotionMeta.class, "setBasePotionType", MethodType.methodType(void.class, PotionType.class));
+        GET_BASE_POTION_TYPE = findVirtual(PotionMeta.class, "getBasePotionType", MethodType.methodType(PotionType.class));
+    }
+
+    private static MethodHandle findVirtual(Class<?> type, String name, MethodType methodType) {
         try {
-            Class<?> chatColorClass = Class.forName("net.md_5.bungee.api.ChatColor");
-            CHAT_COLOR_OF_METHOD = chatColorClass.getMethod("of", String.class);
-            hexSupport = true;
-        } catch (Exception ignored) {
-            CHAT_COLOR_OF_METHOD = null;
+            return MethodHandles.publicLookup().findVirtual(type, name, methodType);
+        } catch (NoSuchMethodException | IllegalAccessException | LinkageError e) {
+            return null;
         }
-        SUPPORTS_HEX = hexSupport;
     }
 
     private static final boolean SUPPORTS_POTION_CONTENTS;
@@ -165,12 +175,12 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
             ItemMeta meta = item.getItemMeta();
 
             if (Objects.requireNonNull(meta).hasDisplayName()) {
-                map.put("name", meta.getDisplayName().replace("§", "&"));
+                map.put("name", ColorTranslator.untranslate(meta.getDisplayName()));
             }
 
             if (meta.hasLore()) {
                 map.put("lore", Objects.requireNonNull(meta.getLore()).stream()
-                        .map(s -> s.replace("§", "&"))
+                        .map(ColorTranslator::untranslate)
                         .collect(Collectors.toList()));
             }
 
@@ -257,18 +267,15 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
             if (!source.containsKey("potion_type")) return;
             String typeStr = String.valueOf(source.get("potion_type")).toUpperCase();
 
-            if (SUPPORTS_POTION_CONTENTS) {
+            if (SUPPORTS_POTION_CONTENTS && SET_BASE_POTION_TYPE != null) {
                 try {
-                    Method setBaseType = meta.getClass().getMethod("setBasePotionType",
-                            Class.forName("org.bukkit.potion.PotionType"));
-                    Object potionType = Enum.valueOf((Class<Enum>) Class.forName("org.bukkit.potion.PotionType"), typeStr);
-                    setBaseType.invoke(meta, potionType);
-                } catch (Exception e) {
+                    SET_BASE_POTION_TYPE.invoke(meta, PotionType.valueOf(typeStr));
+                } catch (Throwable e) {
                     Bukkit.getLogger().warning("[Config] Modern PotionType bulunamadı: " + typeStr);
                 }
             } else if (SUPPORTS_POTION_DATA) {
                 try {
-                    org.bukkit.potion.PotionType type = org.bukkit.potion.PotionType.valueOf(typeStr);
+                    PotionType type = PotionType.valueOf(typeStr);
                     boolean extended = (boolean) source.getOrDefault("potion_extended", false);
                     boolean upgraded = (boolean) source.getOrDefault("potion_upgraded", false);
                     meta.setBasePotionData(new org.bukkit.potion.PotionData(type, extended, upgraded));
@@ -311,9 +318,8 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
 
     private void savePotionData(PotionMeta meta, Map<String, Object> map) {
         try {
-            if (SUPPORTS_POTION_CONTENTS) {
-                Method getBaseType = meta.getClass().getMethod("getBasePotionType");
-                Object type = getBaseType.invoke(meta);
+            if (SUPPORTS_POTION_CONTENTS && GET_BASE_POTION_TYPE != null) {
+                Object type = GET_BASE_POTION_TYPE.invoke(meta);
                 if (type != null) {
                     map.put("potion_type", type.toString());
                 }
@@ -323,7 +329,7 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
                 if (data.isExtended()) map.put("potion_extended", true);
                 if (data.isUpgraded()) map.put("potion_upgraded", true);
             }
-        } catch (Exception ignored) {}
+        } catch (Throwable ignored) {}
     }
 
     private void setUnbreakable(ItemMeta meta, boolean unbreakable) {
@@ -342,41 +348,23 @@ public class ItemStackConverter implements Converter<Map<String, Object>, ItemSt
 
     private String color(String s) {
         if (s == null) return "";
-
-        if (SUPPORTS_HEX && CHAT_COLOR_OF_METHOD != null) {
-            Matcher matcher = HEX_PATTERN.matcher(s);
-            StringBuffer buffer = new StringBuffer();
-            while (matcher.find()) {
-                try {
-                    Object colorObj = CHAT_COLOR_OF_METHOD.invoke(null, "#" + matcher.group(1));
-                    matcher.appendReplacement(buffer, colorObj.toString());
-                } catch (Exception e) {
-                    return s;
-                }
-            }
-            matcher.appendTail(buffer);
-            s = buffer.toString();
-        }
-
-        return ChatColor.translateAlternateColorCodes('&', s);
+        return ColorTranslator.translate(s);
     }
 
     private void setCustomModelData(ItemMeta meta, int data) {
+        if (SET_CUSTOM_MODEL_DATA == null) return;
         try {
-            Method method = meta.getClass().getMethod("setCustomModelData", Integer.class);
-            method.setAccessible(true);
-            method.invoke(meta, data);
-        } catch (Exception ignored) {}
+            SET_CUSTOM_MODEL_DATA.invoke(meta, (Integer) data);
+        } catch (Throwable ignored) {}
     }
 
     private Integer getCustomModelData(ItemMeta meta) {
+        if (HAS_CUSTOM_MODEL_DATA == null || GET_CUSTOM_MODEL_DATA == null) return null;
         try {
-            Method hasMethod = meta.getClass().getMethod("hasCustomModelData");
-            if ((boolean) hasMethod.invoke(meta)) {
-                Method getMethod = meta.getClass().getMethod("getCustomModelData");
-                return (Integer) getMethod.invoke(meta);
+            if ((boolean) HAS_CUSTOM_MODEL_DATA.invoke(meta)) {
+                return (int) GET_CUSTOM_MODEL_DATA.invoke(meta);
             }
-        } catch (Exception ignored) {}
+        } catch (Throwable ignored) {}
         return null;
     }
 
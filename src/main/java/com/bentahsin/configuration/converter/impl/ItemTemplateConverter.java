@@ -0,0 +1,28 @@
+package com.bentahsin.configuration.converter.impl;
+
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.converter.ConverterRegistry;
+import com.bentahsin.configuration.util.ItemTemplate;
+
+import java.util.Map;
+
+/**
+ * {@link ItemTemplate} fields, in the same format as {@link ItemStackConverter}.
+ */
+@SuppressWarnings("unused")
+public class ItemTemplateConverter implements Converter<Map<String, Object>, ItemTemplate> {
+
+    private final ItemStackConverter items = ConverterRegistry.get(ItemStackConverter.class);
+
+    @Override
+    public ItemTemplate convertToField(Map<String, Object> source) {
+        if (source == null) return null;
+        return ItemTemplate.of(items.convertToField(source));
+    }
+
+    @Override
+    public Map<String, Object> convertToConfig(ItemTemplate source) {
+        if (source == null) return null;
+        return items.convertToConfig(source.create());
+    }
+}
@@ -0,0 +1,23 @@
+package com.bentahsin.configuration.converter.impl;
+
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.util.LocationRef;
+
+/**
+ * {@link LocationRef} fields, in the same {@code "world,x,y,z,yaw,pitch"} format as {@link LocationConverter}.
+ * Unlike a {@code Location}, the value loads even if its world does not exist yet.
+ */
+@SuppressWarnings("unused")
+public class LocationRefConverter implements Converter<String, LocationRef> {
+
+    @Override
+    public LocationRef convertToField(String source) {
+        if (source == null || source.isEmpty()) return null;
+        return LocationRef.parse(source);
+    }
+
+    @Override
+    public String convertToConfig(LocationRef source) {
+        return source == null ? null : source.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.bentahsin.configuration.converter.impl;
+
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.util.TimeParser;
+
+/**
+ * Durations as server ticks, for scheduler delays: {@code "1.5s"} or {@code "30t"} both become 30.
+ * Used with {@code @Transform(TicksConverter.class)} on a {@code long} field; written back as time, e.g. {@code "1s 500ms"}.
+ */
+@SuppressWarnings("unused")
+public class TicksConverter implements Converter<String, Long> {
+
+    @Override
+    public Long convertToField(String source) {
+        if (source == null || source.isEmpty()) return 0L;
+        return TimeParser.parseTicks(source);
+    }
+
+    @Override
+    public String convertToConfig(Long source) {
+        if (source == null || source <= 0) return "0s";
+        return TimeParser.format(source * TimeParser.MILLIS_PER_TICK);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bentahsin.configuration.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A cached {@code @OnChange} method, resolved once per class.
+ */
+public final class ChangeHook {
+
+    private static final MethodType HOOK_TYPE = MethodType.methodType(void.class, Object.class, ConfigChange.class);
+
+    private final String name;
+    private final String[] paths;
+    private final boolean takesChange;
+    private final MethodHandle handle;
+
+    ChangeHook(Method method, String[] paths) throws IllegalAccessException {
+        Class<?>[] params = method.getParameterTypes();
+        if (params.length > 1 || (params.length == 1 && params[0] != ConfigChange.class)) {
+            throw new IllegalArgumentException("@OnChange method '" + method.getName()
+                    + "' must take no parameters or a single ConfigChange");
+        }
+
+        this.name = method.getName();
+        this.paths = paths.clone();
+        this.takesChange = params.length == 1;
+
+        MethodHandle raw = MethodHandles.lookup().unreflect(method);
+        if (!takesChange) {
+            raw = MethodHandles.dropArguments(raw, raw.type().parameterCount(), ConfigChange.class);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            raw = MethodHandles.dropArguments(raw, 0, Object.class);
+        }
+        this.handle = raw.asType(HOOK_TYPE);
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Runs the hook for the watched paths present in the diff.
+     *
+     * @return false if none of its paths changed
+     */
+    public boolean invoke(Object instance, ConfigDiff diff) throws Throwable {
+        boolean fired = false;
+        for (String path : paths) {
+            ConfigChange change = diff.get(path);
+            if (change == null) continue;
+
+            handle.invokeExact(instance, change);
+            fired = true;
+            if (!takesChange) break;
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bentahsin.configuration.core;
+
+/**
+ * Reflection-free field access for a config class, generated at compile time by the
+ * {@code configuration-processor} annotation processor.
+ * <p>
+ * For a class {@code com.example.MainConfig} the generated binder is {@code com.example.MainConfig_ConfigBinder}
+ * (nested classes use {@code Outer_Inner_ConfigBinder}). {@link ConfigSchema} picks it up automatically
+ * when it is on the classpath and falls back to reflection otherwise.
+ * <p>
+ * Slots are indexes into {@link #fieldNames()}.
+ *
+ * @param <T> The config class
+ */
+public interface ConfigBinder<T> {
+
+    /**
+     * Suffix appended to the flattened class name to build the binder class name.
+     */
+    String SUFFIX = "_ConfigBinder";
+
+    /**
+     * Names of the bound fields, in slot order.
+     */
+    String[] fieldNames();
+
+    T newInstance();
+
+    /**
+     * Copies every bound field's default value (from a fresh instance) into the target.
+     */
+    void reset(T target);
+
+    Object get(T instance, int slot);
+
+    void set(T instance, int slot, Object value);
+
+    void setInt(T instance, int slot, int value);
+
+    void setLong(T instance, int slot, long value);
+
+    void setDouble(T instance, int slot, double value);
+
+    void setBoolean(T instance, int slot, boolean value);
+}
@@ -0,0 +1,32 @@
+package com.bentahsin.configuration.core;
+
+/**
+ * A config path whose value differs between two versions of a file.
+ * <p>
+ * Values are given in their config form: scalars, {@code List}s and {@code Map}s (for sections).
+ * {@code null} means the path did not exist.
+ */
+public final class ConfigChange {
+
+    private final String path;
+    private final Object oldValue;
+    private final Object newValue;
+
+    ConfigChange(String path, Object oldValue, Object newValue) {
+        this.path = path;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public String getPath() { return path; }
+    public Object getOldValue() { return oldValue; }
+    public Object getNewValue() { return newValue; }
+
+    public boolean isAdded() { return oldValue == null; }
+    public boolean isRemoved() { return newValue == null; }
+
+    @Override
+    public String toString() {
+        return path + ": " + oldValue + " -> " + newValue;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bentahsin.configuration.core;
+
+/**
+ * Receives changes of a config file detected on reload.
+ * Called on the thread that commits the reload (the main thread for the async methods).
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    void onChange(ConfigChange change);
+}
@@ -0,0 +1,118 @@
+package com.bentahsin.configuration.core;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+
+/**
+ * Paths that differ between two parsed versions of a config file.
+ * <p>
+ * Every level is reported: if {@code shop.items.sword.price} changed, {@code shop.items.sword},
+ * {@code shop.items} and {@code shop} are contained as well.
+ */
+public final class ConfigDiff {
+
+    private final Map<String, ConfigChange> changes;
+
+    private ConfigDiff(Map<String, ConfigChange> changes) {
+        this.changes = Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Compares two trees. Either side may be null (treated as empty).
+     */
+    public static ConfigDiff between(ConfigurationSection oldTree, ConfigurationSection newTree) {
+        Map<String, ConfigChange> changes = new LinkedHashMap<>();
+        compare("", oldTree, newTree, changes);
+        return new ConfigDiff(changes);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public boolean contains(String path) {
+        return changes.containsKey(path);
+    }
+
+    /**
+     * The change at the given path, or null if it did not change.
+     */
+    public ConfigChange get(String path) {
+        return changes.get(path);
+    }
+
+    public Collection<ConfigChange> getChanges() {
+        return changes.values();
+    }
+
+    /**
+     * Whether the source value of the field (or its legacy path) changed.
+     */
+    boolean touches(FieldBinding binding) {
+        return changes.containsKey(binding.getPathKey())
+                || (binding.getLegacyPath() != null && changes.containsKey(binding.getLegacyPath()));
+    }
+
+    private static boolean compare(String prefix, ConfigurationSection oldSection, ConfigurationSection newSection,
+                                   Map<String, ConfigChange> changes) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (oldSection != null) keys.addAll(oldSection.getKeys(false));
+        if (newSection != null) keys.addAll(newSection.getKeys(false));
+
+        boolean changed = false;
+        for (String key : keys) {
+            String path = prefix.isEmpty() ? key : prefix + "." + key;
+            Object oldValue = oldSection == null ? null : oldSection.get(key);
+            Object newValue = newSection == null ? null : newSection.get(key);
+
+            boolean oldIsSection = oldValue instanceof ConfigurationSection;
+            boolean newIsSection = newValue instanceof ConfigurationSection;
+
+            boolean pathChanged;
+            if (oldIsSection || newIsSection) {
+                pathChanged = compare(path,
+                        oldIsSection ? (ConfigurationSection) oldValue : null,
+                        newIsSection ? (ConfigurationSection) newValue : null,
+                        changes);
+                pathChanged |= oldIsSection != newIsSection;
+            } else {
+                pathChanged = !Objects.equals(detach(oldValue), detach(newValue));
+            }
+
+            if (pathChanged) {
+                changes.put(path, new ConfigChange(path, detach(oldValue), detach(newValue)));
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Converts a config value into plain, comparable data: sections become maps, collections are copied.
+     */
+    static Object detach(Object value) {
+        if (value instanceof ConfigurationSection) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((ConfigurationSection) value).getValues(false).entrySet()) {
+                map.put(entry.getKey(), detach(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), detach(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                list.add(detach(element));
+            }
+            return list;
+        }
+        return value;
+    }
+}
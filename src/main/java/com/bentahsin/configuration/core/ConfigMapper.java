@@ -2,52 +2,131 @@ package com.bentahsin.configuration.core;
 
 import com.bentahsin.configuration.annotation.*;
 import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.converter.impl.LocationRefConverter;
+import com.bentahsin.configuration.metrics.BindStats;
+import com.bentahsin.configuration.metrics.ConfigMetrics;
+import com.bentahsin.configuration.util.ColorTranslator;
+import com.bentahsin.configuration.util.CuboidIndex;
+import com.bentahsin.configuration.validation.ConfigConstraint;
+import com.bentahsin.configuration.validation.FieldValidator;
+import com.bentahsin.configuration.validation.ValidationReport;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 public class ConfigMapper {
 
+    /**
+     * {@code setComments(String, List)} only exists on 1.18+ sections; resolved once per section class.
+     */
+    private static final ClassValue<Optional<Method>> SET_COMMENTS = new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            try {
+                Method method = type.getMethod("setComments", String.class, List.class);
+                method.setAccessible(true);
+                return Optional.of(method);
+            } catch (NoSuchMethodException | RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    /**
+     * Counters of the bind pass running on this thread, if the caller asked for them.
+     */
+    private static final ThreadLocal<BindStats> BIND_STATS = new ThreadLocal<>();
+
+    private volatile boolean locationRefsBound;
+
     private final Logger logger;
+    private volatile long hookBudgetMillis = 50;
+    private volatile Executor asyncExecutor = ForkJoinPool.commonPool();
+    private volatile ConfigMetrics metrics;
 
     public ConfigMapper(Logger logger) {
         this.logger = logger;
     }
 
-    public void resetToDefaults(Object instance) {
-        try {
-            Constructor<?> constructor = instance.getClass().getDeclaredConstructor();
-            if (!trySetAccessible(constructor)) return;
-            Object freshInstance = constructor.newInstance();
+    /**
+     * Lifecycle hooks that run longer than this are reported with a warning.
+     * Defaults to 50 ms (one server tick); 0 disables the check.
+     */
+    public void setHookBudgetMillis(long hookBudgetMillis) {
+        this.hookBudgetMillis = hookBudgetMillis;
+    }
+
+    /**
+     * Executor for {@code @OnReload(async = true)} hooks. Defaults to the common fork-join pool.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+    }
 
-            for (Field field : instance.getClass().getDeclaredFields()) {
-                if (!shouldProcess(field)) continue;
-                if (!trySetAccessible(field)) continue;
+    /**
+     * Where converter calls and hook times are recorded; {@code null} (the default) records nothing.
+     */
+    public void setMetrics(ConfigMetrics metrics) {
+        this.metrics = metrics;
+    }
 
-                Object defaultValue = field.get(freshInstance);
-                field.set(instance, defaultValue);
+    public void resetToDefaults(Object instance) {
+        ConfigSchema schema = ConfigSchema.of(instance.getClass());
+        try {
+            if (schema.getBinder() != null) {
+                schema.getBinder().reset(instance);
+                return;
             }
+
+            copyFields(schema.newInstance(), instance);
         } catch (NoSuchMethodException e) {
-            if (instance.getClass().getEnclosingClass() != null && !Modifier.isStatic(instance.getClass().getModifiers())) {
+            if (schema.isNonStaticInnerClass()) {
                 logger.severe("CRITICAL ERROR: Config class '" + instance.getClass().getSimpleName() + "' is an Inner Class but NOT STATIC.");
                 logger.severe("Please make it static: 'public static class " + instance.getClass().getSimpleName() + "'");
             } else {
                 logger.severe("Config reset failed. Does '" + instance.getClass().getSimpleName() + "' have a no-args constructor?");
             }
+        } catch (IllegalAccessException e) {
+            logger.severe("Cannot access constructor of " + instance.getClass().getSimpleName() + " due to security restrictions: " + e.getMessage());
         } catch (Exception e) {
             logger.severe("Error resetting config: " + e.getMessage());
         }
     }
 
+    /**
+     * Copies every bound field value from {@code source} to {@code target} (shallow copy).
+     * Both must be instances of the same config class.
+     */
+    public void copyFields(Object source, Object target) {
+        for (FieldBinding binding : ConfigSchema.of(target.getClass()).getBindings()) {
+            if (!checkAccessible(binding)) continue;
+
+            FieldAccessor accessor = binding.getAccessor();
+            accessor.set(target, accessor.get(source));
+        }
+    }
+
+    /**
+     * Whether this mapper has bound a {@link com.bentahsin.configuration.util.LocationRef} so far.
+     */
+    public boolean hasBoundLocationRefs() {
+        return locationRefsBound;
+    }
+
     public void handleVersion(Object instance, ConfigurationSection config) {
-        if (!instance.getClass().isAnnotationPresent(ConfigVersion.class)) return;
+        ConfigVersion version = ConfigSchema.of(instance.getClass()).getVersion();
+        if (version == null) return;
 
-        int classVersion = instance.getClass().getAnnotation(ConfigVersion.class).value();
+        int classVersion = version.value();
         int fileVersion = config.getInt("config-version", 0);
 
         if (fileVersion < classVersion) {
@@ -56,107 +135,208 @@ public class ConfigMapper {
         }
     }
 
+    /**
+     * Runs the {@code @OnReload} hooks in order. Async hooks are handed to the async executor
+     * and do not block the calling thread.
+     */
     public void runOnReload(Object instance) {
-        for (Method method : instance.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(OnReload.class)) {
-                if (!trySetAccessible(method)) continue;
-
-                try {
-                    method.setAccessible(true);
-                    logger.info("Running reload trigger: " + method.getName());
-                    method.invoke(instance);
-                } catch (Exception e) {
-                    logger.severe("Error running OnReload method: " + method.getName());
-                    logger.severe(e.getMessage());
-                }
+        runOnReload(instance, true);
+    }
+
+    /**
+     * Same as {@link #runOnReload(Object)}; if the reload did not change anything ({@code changed} is false),
+     * hooks marked {@code onlyOnChange} are skipped.
+     */
+    public void runOnReload(Object instance, boolean changed) {
+        for (HookInvoker hook : ConfigSchema.of(instance.getClass()).getOnReloadHooks()) {
+            if (!changed && hook.isOnlyOnChange()) continue;
+            logger.info("Running reload trigger: " + hook.getName());
+            if (!hook.isAsync()) {
+                runHook(instance, hook, "OnReload");
+                continue;
+            }
+
+            try {
+                asyncExecutor.execute(() -> runHook(instance, hook, "OnReload"));
+            } catch (RejectedExecutionException e) {
+                runHook(instance, hook, "OnReload");
             }
         }
     }
 
+    /**
+     * Loads the config values into the instance and runs its {@code @PostLoad} methods.
+     * <p>
+     * All validation failures of the pass are collected into one report, which is logged once.
+     * Rejected values are not applied; those fields keep their defaults. Callers that need the
+     * report use {@link #bind(Object, ConfigurationSection)} followed by {@link #runPostLoad}.
+     */
     public void loadFromConfig(Object instance, ConfigurationSection config) {
-        if (instance == null || config == null) return;
-        processClass(instance, config);
-        runPostLoad(instance);
+        bind(instance, config);
+        if (instance != null && config != null) {
+            runPostLoad(instance);
+        }
     }
 
-    public void saveToConfig(Object instance, ConfigurationSection config) {
-        if (instance == null || config == null) return;
-        saveClass(instance, config);
+    /**
+     * Same as {@link #loadFromConfig} but without running the {@code @PostLoad} methods, returning the
+     * validation report of the pass (empty if everything was valid). Also used to fill a staging instance
+     * off the main thread; call {@link #runPostLoad} once the values are published.
+     */
+    public ValidationReport bind(Object instance, ConfigurationSection config) {
+        return bind(instance, config, null);
     }
 
-    private void processClass(Object instance, ConfigurationSection config) {
-        Class<?> clazz = instance.getClass();
-
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!shouldProcess(field)) continue;
+    /**
+     * Same as {@link #bind(Object, ConfigurationSection)}, counting the bound fields and elements,
+     * the validation failures and the time taken into {@code stats}.
+     */
+    public ValidationReport bind(Object instance, ConfigurationSection config, BindStats stats) {
+        ValidationReport report = new ValidationReport();
+        if (instance == null || config == null) return report;
+
+        long start = System.nanoTime();
+        BindStats previous = BIND_STATS.get();
+        BIND_STATS.set(stats);
+        try {
+            String basePath = config.getCurrentPath() == null ? "" : config.getCurrentPath();
+            processClass(instance, ValueSource.of(config), basePath, report);
+        } finally {
+            BIND_STATS.set(previous);
+        }
+        finishStats(stats, start, report);
+        report.log(logger, instance.getClass().getSimpleName());
+        return report;
+    }
 
-            String pathKey = getPathKey(field);
-            try {
-                if (!trySetAccessible(field)) continue;
+    private static void finishStats(BindStats stats, long start, ValidationReport report) {
+        if (stats == null) return;
+        stats.setNanos(System.nanoTime() - start);
+        stats.setValidationFailures(report.size());
+    }
 
-                Object value = config.get(pathKey);
+    private static void countElements(int count) {
+        BindStats stats = BIND_STATS.get();
+        if (stats != null) stats.addElements(count);
+    }
 
-                if (value == null && field.isAnnotationPresent(LegacyPath.class)) {
-                    String legacyKey = field.getAnnotation(LegacyPath.class).value();
+    public void saveToConfig(Object instance, ConfigurationSection config) {
+        if (instance == null || config == null) return;
+        saveClass(instance, config);
+    }
 
-                    if (config.contains(legacyKey)) {
-                        value = config.get(legacyKey);
-                        logger.info("Migrating legacy config path: " + legacyKey + " -> " + pathKey);
-                        config.set(legacyKey, null);
-                    }
-                }
+    private void processClass(Object instance, ValueSource config, String basePath, ValidationReport report) {
+        ConfigSchema schema = ConfigSchema.of(instance.getClass());
+        for (FieldBinding binding : schema.getBindings()) {
+            processField(instance, config, binding, basePath, report);
+        }
+        runConstraints(instance, schema, report);
+    }
 
-                if (value == null) continue;
+    private void processField(Object instance, ValueSource config, FieldBinding binding, String basePath,
+                              ValidationReport report) {
+        String pathKey = binding.getPathKey();
+        try {
+            if (!checkAccessible(binding)) return;
 
-                if (field.isAnnotationPresent(Transform.class)) {
-                    applyConverter(instance, field, value);
-                    continue;
-                }
+            Object value = config.get(pathKey);
 
-                if (Map.class.isAssignableFrom(field.getType())) {
-                    handleMapLoad(instance, field, config, pathKey);
-                    continue;
-                }
+            if (value == null && binding.getLegacyPath() != null) {
+                String legacyKey = binding.getLegacyPath();
 
-                if (List.class.isAssignableFrom(field.getType())) {
-                    handleListLoad(instance, field, config, pathKey);
-                    continue;
+                if (config.contains(legacyKey)) {
+                    value = config.get(legacyKey);
+                    logger.info("Migrating legacy config path: " + legacyKey + " -> " + pathKey);
+                    config.remove(legacyKey);
                 }
+            }
 
-                if (isComplexObject(field.getType())) {
-                    Object fieldInstance = field.get(instance);
-                    if (fieldInstance == null) {
-                        Constructor<?> constructor = field.getType().getDeclaredConstructor();
-                        if (trySetAccessible(constructor)) {
-                            fieldInstance = constructor.newInstance();
-                            field.set(instance, fieldInstance);
-                        } else {
-                            continue;
-                        }
-                    }
-
-                    ConfigurationSection subSection = config.getConfigurationSection(pathKey);
-                    if (subSection == null && value instanceof ConfigurationSection) {
-                        subSection = (ConfigurationSection) value;
-                    }
+            if (value == null) {
+                if (binding.isColored()) colorDefault(instance, binding);
+                return;
+            }
 
-                    if (subSection != null) {
-                        processClass(fieldInstance, subSection);
-                    }
-                    continue;
-                }
+            BindStats stats = BIND_STATS.get();
+            if (stats != null) stats.addField();
+
+            switch (binding.getKind()) {
+                case TRANSFORM:
+                    applyConverter(instance, binding, value);
+                    return;
+                case MAP:
+                    handleMapLoad(instance, binding, config, pathKey, basePath, report);
+                    return;
+                case LIST:
+                    handleListLoad(instance, binding, config, pathKey, basePath, report);
+                    return;
+                case OBJECT:
+                    handleObjectLoad(instance, binding, config, pathKey, basePath, report);
+                    return;
+                case LAZY:
+                    handleLazyLoad(instance, binding, value, basePath);
+                    return;
+                default:
+                    safeSetField(instance, binding, value, basePath, report);
+            }
 
-                safeSetField(instance, field, value);
+        } catch (Exception e) {
+            logger.warning("Error loading config (" + binding.getName() + "): " + e.getMessage());
+        }
+    }
 
+    private void runConstraints(Object instance, ConfigSchema schema, ValidationReport report) {
+        for (ConfigConstraint<Object> constraint : schema.getConstraints()) {
+            try {
+                constraint.validate(instance, report);
             } catch (Exception e) {
-                logger.warning("Error loading config (" + field.getName() + "): " + e.getMessage());
+                logger.warning("Error running constraint " + constraint.getClass().getSimpleName() + ": " + e.getMessage());
             }
         }
     }
 
+    private void handleObjectLoad(Object instance, FieldBinding binding, ValueSource config, String path,
+                                  String basePath, ValidationReport report) throws Exception {
+        FieldAccessor accessor = binding.getAccessor();
+        Object fieldInstance = accessor.get(instance);
+        if (fieldInstance == null) {
+            fieldInstance = createInstance(binding.getType());
+            accessor.set(instance, fieldInstance);
+        }
+
+        ValueSource subSection = config.child(path);
+        if (subSection != null) {
+            processClass(fieldInstance, subSection, join(basePath, path), report);
+        }
+    }
+
+    /**
+     * Stores a detached copy of the raw value; the content is bound by {@link #resolveLazy} on first access.
+     */
+    private void handleLazyLoad(Object instance, FieldBinding binding, Object value, String basePath) {
+        FieldAccessor accessor = binding.getAccessor();
+        Object current = accessor.get(instance);
+        Object fallback = current instanceof LazyValue && ((LazyValue<?>) current).isResolved()
+                ? ((LazyValue<?>) current).get()
+                : null;
+        String owner = instance.getClass().getSimpleName();
+
+        accessor.set(instance, new LazyValue<>(ConfigDiff.detach(value),
+                raw -> resolveLazy(binding.getLazyBinding(), raw, basePath, fallback, owner)));
+    }
+
+    private Object resolveLazy(FieldBinding binding, Object raw, String basePath, Object fallback, String owner) {
+        Object[] holder = {fallback};
+        ValidationReport report = new ValidationReport();
+        processField(holder, ValueSource.single(binding.getPathKey(), raw), binding, basePath, report);
+        report.log(logger, owner);
+        return holder[0];
+    }
+
     private void saveClass(Object instance, ConfigurationSection config) {
-        if (config.getParent() == null && instance.getClass().isAnnotationPresent(ConfigHeader.class)) {
-            ConfigHeader header = instance.getClass().getAnnotation(ConfigHeader.class);
+        ConfigSchema schema = ConfigSchema.of(instance.getClass());
+
+        if (config.getParent() == null && schema.getHeader() != null) {
+            ConfigHeader header = schema.getHeader();
             List<String> headerLines = Arrays.asList(header.value());
 
             if (config.getRoot() instanceof FileConfiguration) {
@@ -167,118 +347,352 @@ public class ConfigMapper {
             }
         }
 
-        for (Field field : instance.getClass().getDeclaredFields()) {
-            if (!shouldProcess(field)) continue;
-            String path = getPathKey(field);
+        for (FieldBinding binding : schema.getBindings()) {
+            saveField(instance, config, binding);
+        }
+    }
 
-            try {
-                if (!trySetAccessible(field)) continue;
-                Object value = field.get(instance);
+    private void saveField(Object instance, ConfigurationSection config, FieldBinding binding) {
+        String path = binding.getPathKey();
 
-                if (value == null) continue;
+        try {
+            if (!checkAccessible(binding)) return;
+            Object value = binding.getAccessor().get(instance);
+
+            if (value == null) return;
+
+            switch (binding.getKind()) {
+                case TRANSFORM:
+                    config.set(path, toConfig(binding.getConverter(), value));
+                    return;
+                case LIST:
+                    handleListSave(binding, config, path, (List<?>) value);
+                    return;
+                case MAP:
+                    handleMapSave(binding, config, path, (Map<?, ?>) value);
+                    return;
+                case OBJECT:
+                    ConfigurationSection subSection = config.createSection(path);
+                    saveClass(value, subSection);
+                    return;
+                case LAZY:
+                    handleLazySave(binding, config, path, (LazyValue<?>) value);
+                    return;
+                default:
+                    break;
+            }
 
-                if (field.isAnnotationPresent(Transform.class)) {
-                    Class<? extends Converter<?, ?>> converterClass = field.getAnnotation(Transform.class).value();
-                    Converter<?, ?> converter = converterClass.getDeclaredConstructor().newInstance();
-                    @SuppressWarnings("unchecked")
-                    Object configValue = ((Converter<Object, Object>) converter).convertToConfig(value);
-                    config.set(path, configValue);
-                    continue;
-                }
+            if (binding.getComments() != null) {
+                setComments(config, path, binding.getComments());
+            }
 
-                if (List.class.isAssignableFrom(field.getType())) {
-                    handleListSave(field, config, path, (List<?>) value);
-                    continue;
-                }
+            config.set(path, colorOut(binding, value));
 
-                if (Map.class.isAssignableFrom(field.getType())) {
-                    handleMapSave(field, config, path, (Map<?, ?>) value);
-                    continue;
-                }
+        } catch (Exception e) {
+            logger.severe("Save error: " + e.getMessage());
+        }
+    }
 
-                if (isComplexObject(field.getType())) {
-                    ConfigurationSection subSection = config.createSection(path);
-                    saveClass(value, subSection);
-                    continue;
-                }
+    /**
+     * Writes an untouched lazy value back as it was read, a resolved one like a normal field of its type.
+     */
+    private void handleLazySave(FieldBinding binding, ConfigurationSection config, String path, LazyValue<?> lazy) {
+        Object raw = lazy.getRaw();
+        if (raw == null) {
+            saveField(new Object[]{lazy.get()}, config, binding.getLazyBinding());
+            return;
+        }
 
-                if (field.isAnnotationPresent(Comment.class)) {
-                    Comment commentAnno = field.getAnnotation(Comment.class);
-                    List<String> comments = Arrays.asList(commentAnno.value());
-                    setComments(config, path, comments);
-                }
+        if (binding.getComments() != null) {
+            setComments(config, path, binding.getComments());
+        }
+        if (raw instanceof Map) {
+            config.createSection(path, (Map<?, ?>) raw);
+        } else {
+            config.set(path, ConfigDiff.detach(raw));
+        }
+    }
 
-                config.set(path, value);
+    /**
+     * Captures the saved form of every bound field, so that {@link #saveChanged} can later tell
+     * which fields were modified. Immutable values are kept as they are; collections and nested
+     * objects are kept as a detached copy of their config representation.
+     */
+    public Object[] captureState(Object instance) {
+        List<FieldBinding> bindings = ConfigSchema.of(instance.getClass()).getBindings();
+        Object[] state = new Object[bindings.size()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = stateOf(instance, bindings.get(i));
+        }
+        return state;
+    }
 
-            } catch (Exception e) {
-                logger.severe("Save error: " + e.getMessage());
+    /**
+     * Writes only the fields that changed since {@code state} was captured into the config,
+     * and updates {@code state} accordingly.
+     *
+     * @return true if at least one field was written
+     */
+    public boolean saveChanged(Object instance, ConfigurationSection config, Object[] state) {
+        List<FieldBinding> bindings = ConfigSchema.of(instance.getClass()).getBindings();
+        boolean changed = false;
+        for (int i = 0; i < state.length; i++) {
+            FieldBinding binding = bindings.get(i);
+            Object current = stateOf(instance, binding);
+            if (Objects.equals(current, state[i])) continue;
+
+            saveField(instance, config, binding);
+            state[i] = current;
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Incremental reload: re-binds only the fields whose source changed in {@code diff} or that were
+     * modified in memory since {@code state} was captured. Each of them is reset to its default, loaded
+     * again and written back into the config, exactly like a full load would. {@code @PostLoad} runs
+     * afterwards as on every load; {@code state} is updated in place.
+     */
+    public ValidationReport rebind(Object instance, ConfigurationSection config, ConfigDiff diff, Object[] state) {
+        return rebind(instance, config, diff, state, null);
+    }
+
+    /**
+     * Same as {@link #rebind(Object, ConfigurationSection, ConfigDiff, Object[])}, counting into {@code stats}
+     * what was re-bound (the time includes the {@code @PostLoad} methods).
+     */
+    public ValidationReport rebind(Object instance, ConfigurationSection config, ConfigDiff diff, Object[] state,
+                                   BindStats stats) {
+        long start = System.nanoTime();
+        BindStats previous = BIND_STATS.get();
+        BIND_STATS.set(stats);
+        try {
+            ValidationReport report = rebindFields(instance, config, diff, state);
+            finishStats(stats, start, report);
+            return report;
+        } finally {
+            BIND_STATS.set(previous);
+        }
+    }
+
+    private ValidationReport rebindFields(Object instance, ConfigurationSection config, ConfigDiff diff, Object[] state) {
+        ConfigSchema schema = ConfigSchema.of(instance.getClass());
+        List<FieldBinding> bindings = schema.getBindings();
+        ValidationReport report = new ValidationReport();
+
+        ValueSource source = ValueSource.of(config);
+        Object defaults = null;
+        boolean rebound = false;
+        for (int i = 0; i < state.length; i++) {
+            FieldBinding binding = bindings.get(i);
+            if (!isSelected(instance, binding, diff, state[i])) continue;
+
+            FieldAccessor accessor = binding.getAccessor();
+            Object previous = accessor.get(instance);
+            if (defaults == null) defaults = newDefaults(schema);
+            if (defaults != null) {
+                accessor.set(instance, accessor.get(defaults));
             }
+
+            processField(instance, source, binding, "", report);
+            assignRebound(accessor, instance, previous, accessor.get(instance));
+            saveField(instance, config, binding);
+            state[i] = stateOf(instance, binding);
+            rebound = true;
+        }
+
+        if (rebound) {
+            runConstraints(instance, schema, report);
+            report.log(logger, instance.getClass().getSimpleName());
+        }
+        runPostLoad(instance);
+        saveChanged(instance, config, state);
+        return report;
+    }
+
+    /**
+     * Async counterpart of {@link #rebind}: copies the fields selected the same way from an already
+     * bound {@code source} into {@code target}. Does not run any hooks; the caller runs {@code @PostLoad}.
+     *
+     * @return true if at least one field was copied
+     */
+    public boolean copyChanged(Object source, Object target, ConfigDiff diff, Object[] state) {
+        List<FieldBinding> bindings = ConfigSchema.of(target.getClass()).getBindings();
+        boolean copied = false;
+        for (int i = 0; i < state.length; i++) {
+            FieldBinding binding = bindings.get(i);
+            if (!isSelected(target, binding, diff, state[i])) continue;
+
+            FieldAccessor accessor = binding.getAccessor();
+            assignRebound(accessor, target, accessor.get(target), accessor.get(source));
+            copied = true;
+        }
+        return copied;
+    }
+
+    /**
+     * Sets a re-bound value. A {@link CuboidIndex} is merged into the existing index instead, so that only the
+     * changed regions are re-indexed and references to the index held elsewhere stay valid.
+     */
+    private static void assignRebound(FieldAccessor accessor, Object target, Object previous, Object value) {
+        if (previous instanceof CuboidIndex && value instanceof CuboidIndex && previous != value) {
+            ((CuboidIndex) previous).update((CuboidIndex) value);
+            value = previous;
+        }
+        accessor.set(target, value);
+    }
+
+    /**
+     * Runs the {@code @OnChange} methods whose paths are in the diff.
+     */
+    public void runOnChange(Object instance, ConfigDiff diff) {
+        for (ChangeHook hook : ConfigSchema.of(instance.getClass()).getOnChangeHooks()) {
+            try {
+                hook.invoke(instance, diff);
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Error running OnChange method: " + hook.getName(), t);
+            }
+        }
+    }
+
+    private boolean isSelected(Object instance, FieldBinding binding, ConfigDiff diff, Object savedState) {
+        if (!binding.isAccessible()) return false;
+        return diff.touches(binding) || !Objects.equals(stateOf(instance, binding), savedState);
+    }
+
+    private Object newDefaults(ConfigSchema schema) {
+        try {
+            return schema.newInstance();
+        } catch (ReflectiveOperationException e) {
+            logger.warning("Cannot create default instance of " + schema.getType().getSimpleName()
+                    + ", changed fields keep their old value if removed from the file.");
+            return null;
+        }
+    }
+
+    private Object stateOf(Object instance, FieldBinding binding) {
+        if (!binding.isAccessible()) return null;
+
+        Object value = binding.getAccessor().get(instance);
+        if (value == null || isImmutable(value)) return value;
+        if (value instanceof LazyValue) {
+            // The raw copy is never modified, so it can stand for itself without serializing it again.
+            Object raw = ((LazyValue<?>) value).getRaw();
+            if (raw != null) return raw;
         }
+
+        MemoryConfiguration scratch = new MemoryConfiguration();
+        saveField(instance, scratch, binding);
+        return ConfigDiff.detach(scratch.get(binding.getPathKey()));
     }
 
-    private void handleListLoad(Object instance, Field field, ConfigurationSection config, String path) throws Exception {
-        if (!config.contains(path)) return;
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum;
+    }
 
-        Class<?> genericType = getListType(field);
+    private void handleListLoad(Object instance, FieldBinding binding, ValueSource config, String path,
+                                String basePath, ValidationReport report) throws Exception {
+        FieldAccessor accessor = binding.getAccessor();
+        Class<?> genericType = binding.getListType();
         List<?> rawList = config.getList(path);
 
         if (rawList == null) return;
+        countElements(rawList.size());
+
+        Converter<Object, Object> elementConverter = binding.getElementConverter();
+        if (elementConverter != null) {
+            List<Object> convertedList = new ArrayList<>(rawList.size());
+            for (int i = 0; i < rawList.size(); i++) {
+                Object converted = convertElement(elementConverter, rawList.get(i), join(basePath, path) + "[" + i + "]");
+                if (converted != null) convertedList.add(converted);
+            }
+            if (acceptSize(binding, convertedList.size(), basePath, path, report)) {
+                accessor.set(instance, convertedList);
+            }
+            return;
+        }
 
         if (Map.class.isAssignableFrom(genericType)) {
-            field.set(instance, config.getMapList(path));
+            List<Map<?, ?>> mapList = new ArrayList<>(rawList.size());
+            for (Object obj : rawList) {
+                if (obj instanceof Map) mapList.add((Map<?, ?>) obj);
+            }
+            if (acceptSize(binding, mapList.size(), basePath, path, report)) {
+                accessor.set(instance, mapList);
+            }
             return;
         }
 
-        if (genericType == String.class || isPrimitive(genericType)) {
-            List<Object> validatedList = new ArrayList<>();
-            Validate validate = field.getAnnotation(Validate.class);
-
-            for (Object obj : rawList) {
-                if (validate != null && !isValid(field.getName() + " (List Element)", obj, validate)) {
-                    continue;
+        if (genericType == String.class || ConfigSchema.isPrimitive(genericType)) {
+            List<Object> validatedList = new ArrayList<>(rawList.size());
+            FieldValidator validator = binding.getValidator();
+
+            for (int i = 0; i < rawList.size(); i++) {
+                Object obj = rawList.get(i);
+                if (validator != null) {
+                    String failedRule = validator.check(obj);
+                    if (failedRule != null) {
+                        report.add(join(basePath, path) + "[" + i + "]", obj, failedRule);
+                        continue;
+                    }
                 }
 
                 Object converted = convertPrimitive(obj, genericType);
                 if (converted != null) {
-                    validatedList.add(converted);
+                    validatedList.add(colorIn(binding, converted));
                 } else {
                     validatedList.add(obj);
                 }
             }
-            field.set(instance, validatedList);
+            if (acceptSize(binding, validatedList.size(), basePath, path, report)) {
+                accessor.set(instance, validatedList);
+            }
             return;
         }
 
-        List<Map<?, ?>> rawMapList = config.getMapList(path);
-        List<Object> resultList = new ArrayList<>();
-
-        for (Map<?, ?> rawMap : rawMapList) {
-            Object itemInstance = genericType.getDeclaredConstructor().newInstance();
-            MemoryConfiguration tempConfig = new MemoryConfiguration();
+        // Elements are bound straight from the parsed maps, without copying them into a section first.
+        List<Object> resultList = new ArrayList<>(rawList.size());
 
-            for (Map.Entry<?, ?> entry : rawMap.entrySet()) {
-                tempConfig.set(entry.getKey().toString(), entry.getValue());
-            }
+        ConfigSchema elementSchema = ConfigSchema.of(genericType);
+        String listPath = join(basePath, path);
+        for (int i = 0; i < rawList.size(); i++) {
+            ValueSource element = ValueSource.of(rawList.get(i));
+            if (element == null) continue;
 
-            processClass(itemInstance, tempConfig);
+            Object itemInstance = elementSchema.newInstance();
+            processClass(itemInstance, element, listPath + "[" + i + "]", report);
             resultList.add(itemInstance);
         }
 
-        field.set(instance, resultList);
+        if (acceptSize(binding, resultList.size(), basePath, path, report)) {
+            accessor.set(instance, resultList);
+        }
     }
 
-    private void handleListSave(Field field, ConfigurationSection config, String path, List<?> list) throws Exception {
+    private void handleListSave(FieldBinding binding, ConfigurationSection config, String path, List<?> list) throws Exception {
         if (list.isEmpty()) {
             config.set(path, new ArrayList<>());
             return;
         }
 
-        Class<?> genericType = getListType(field);
+        Class<?> genericType = binding.getListType();
+
+        Converter<Object, Object> elementConverter = binding.getElementConverter();
+        if (elementConverter != null) {
+            List<Object> convertedList = new ArrayList<>(list.size());
+            for (Object o : list) {
+                if (o != null) convertedList.add(toConfig(elementConverter, o));
+            }
+            config.set(path, convertedList);
+            return;
+        }
 
-        if (genericType == String.class || isPrimitive(genericType) || Map.class.isAssignableFrom(genericType)) {
+        if (genericType == String.class || ConfigSchema.isPrimitive(genericType) || Map.class.isAssignableFrom(genericType)) {
             List<Object> cleanList = new ArrayList<>();
             for (Object o : list) {
-                if (o != null) cleanList.add(o);
+                if (o != null) cleanList.add(colorOut(binding, o));
             }
             config.set(path, cleanList);
             return;
@@ -289,11 +703,9 @@ public class ConfigMapper {
             if (obj == null) continue;
 
             Map<String, Object> objectMap = new LinkedHashMap<>();
-            for (Field objField : obj.getClass().getDeclaredFields()) {
-                if (!shouldProcess(objField)) continue;
-                if (!trySetAccessible(objField)) continue;
-                String objPath = getPathKey(objField);
-                objectMap.put(objPath, objField.get(obj));
+            for (FieldBinding objBinding : ConfigSchema.of(obj.getClass()).getBindings()) {
+                if (!checkAccessible(objBinding)) continue;
+                objectMap.put(objBinding.getPathKey(), objBinding.getAccessor().get(obj));
             }
             mapList.add(objectMap);
         }
@@ -302,32 +714,40 @@ public class ConfigMapper {
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private void handleMapLoad(Object instance, Field field, ConfigurationSection config, String path) throws Exception {
-        if (!config.isConfigurationSection(path)) return;
-
-        ConfigurationSection section = config.getConfigurationSection(path);
-        Map<Object, Object> map = new HashMap<>();
-
-        Class<?> keyType = getMapKeyType(field);
-        Class<?> valueType = getMapValueType(field);
-
-        for (String rawKey : Objects.requireNonNull(section).getKeys(false)) {
-
+    private void handleMapLoad(Object instance, FieldBinding binding, ValueSource config, String path,
+                               String basePath, ValidationReport report) throws Exception {
+        ValueSource section = config.child(path);
+        if (section == null) return;
+
+        Map<String, Object> entries = section.values();
+        countElements(entries.size());
+        Map<Object, Object> map = new HashMap<>(entries.size() * 4 / 3 + 1);
+
+        Class<?> keyType = binding.getMapKeyType();
+        Class<?> valueType = binding.getMapValueType();
+        boolean isComplex = binding.isComplexElement();
+        Converter<Object, Object> valueConverter = binding.getElementConverter();
+
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            String rawKey = entry.getKey();
             Object convertedKey = convertKey(rawKey, keyType);
             if (convertedKey == null) continue;
 
             Object value;
-            if (isComplexObject(valueType)) {
+            if (valueConverter != null) {
+                value = convertElement(valueConverter, entry.getValue(), join(basePath, path + "." + rawKey));
+                if (value == null) continue;
+            } else if (isComplex) {
                 Object valueInstance = createInstance(valueType);
-                ConfigurationSection valueSection = section.getConfigurationSection(rawKey);
+                ValueSource valueSection = ValueSource.of(entry.getValue());
                 if (valueSection != null) {
-                    processClass(valueInstance, valueSection);
+                    processClass(valueInstance, valueSection, join(basePath, path + "." + rawKey), report);
                     value = valueInstance;
                 } else {
                     continue;
                 }
             } else {
-                Object rawValue = section.get(rawKey);
+                Object rawValue = entry.getValue();
                 if (valueType.isEnum() && rawValue instanceof String) {
                     try {
                         value = Enum.valueOf((Class<Enum>) valueType, ((String) rawValue).toUpperCase(Locale.ENGLISH));
@@ -339,27 +759,15 @@ public class ConfigMapper {
                     else if (valueType == double.class || valueType == Double.class) value = num.doubleValue();
                     else value = rawValue;
                 } else {
-                    value = rawValue;
+                    value = colorIn(binding, rawValue);
                 }
             }
             map.put(convertedKey, value);
         }
 
-        field.set(instance, map);
-    }
-
-    private Class<?> getMapKeyType(Field field) {
-        Type genericType = field.getGenericType();
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType pt = (ParameterizedType) genericType;
-            Type[] args = pt.getActualTypeArguments();
-            if (args.length > 0) {
-                Type keyType = args[0];
-                if (keyType instanceof Class) return (Class<?>) keyType;
-                if (keyType instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) keyType).getRawType();
-            }
+        if (acceptSize(binding, map.size(), basePath, path, report)) {
+            binding.getAccessor().set(instance, map);
         }
-        return String.class;
     }
 
     @SuppressWarnings({"rawtypes"})
@@ -386,12 +794,11 @@ public class ConfigMapper {
     }
 
     private Object createInstance(Class<?> clazz) throws Exception {
+        ConfigSchema schema = ConfigSchema.of(clazz);
         try {
-            Constructor<?> constructor = clazz.getDeclaredConstructor();
-            trySetAccessible(constructor);
-            return constructor.newInstance();
+            return schema.newInstance();
         } catch (NoSuchMethodException e) {
-            if (clazz.getEnclosingClass() != null && !Modifier.isStatic(clazz.getModifiers())) {
+            if (schema.isNonStaticInnerClass()) {
                 throw new IllegalStateException("ERROR: '" + clazz.getSimpleName() + "' is an Inner Class and NOT STATIC! " +
                         "Please define config classes as 'public static class'.");
             }
@@ -399,15 +806,16 @@ public class ConfigMapper {
         }
     }
 
-    private void handleMapSave(Field field, ConfigurationSection config, String path, Map<?, ?> map) {
+    private void handleMapSave(FieldBinding binding, ConfigurationSection config, String path, Map<?, ?> map) {
         if (map == null || map.isEmpty()) {
             config.createSection(path);
             return;
         }
 
         ConfigurationSection section = config.createSection(path);
-        Class<?> valueType = getMapValueType(field);
-        boolean isComplex = isComplexObject(valueType);
+        Class<?> valueType = binding.getMapValueType();
+        boolean isComplex = binding.isComplexElement();
+        Converter<Object, Object> valueConverter = binding.getElementConverter();
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             String key = String.valueOf(entry.getKey());
@@ -415,145 +823,195 @@ public class ConfigMapper {
 
             if (value == null) continue;
 
-            if (isComplex) {
+            if (valueConverter != null) {
+                section.set(key, toConfig(valueConverter, value));
+            } else if (isComplex) {
                 ConfigurationSection subSection = section.createSection(key);
                 saveClass(value, subSection);
             } else {
                 if (valueType.isEnum()) {
                     section.set(key, value.toString());
                 } else {
-                    section.set(key, value);
+                    section.set(key, colorOut(binding, value));
                 }
             }
         }
     }
 
-    private Class<?> getMapValueType(Field field) {
-        Type genericType = field.getGenericType();
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType pt = (ParameterizedType) genericType;
-            Type[] args = pt.getActualTypeArguments();
-            if (args.length > 1) {
-                Type valueType = args[1];
-                if (valueType instanceof Class) {
-                    return (Class<?>) valueType;
-                }
-                if (valueType instanceof ParameterizedType) {
-                    return (Class<?>) ((ParameterizedType) valueType).getRawType();
-                }
-            }
-        }
-        return Object.class;
+    private void applyConverter(Object instance, FieldBinding binding, Object value) {
+        binding.getAccessor().set(instance, convert(binding.getConverter(), value));
     }
 
-    private Class<?> getListType(Field field) {
-        Type genericType = field.getGenericType();
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType pt = (ParameterizedType) genericType;
-            Type[] args = pt.getActualTypeArguments();
-            if (args.length > 0) {
-                Type valueType = args[0];
-                if (valueType instanceof Class) {
-                    return (Class<?>) valueType;
-                }
-                if (valueType instanceof ParameterizedType) {
-                    return (Class<?>) ((ParameterizedType) valueType).getRawType();
-                }
-            }
+    /**
+     * Runs a converter on a raw config value. Nested sections are handed over as plain maps,
+     * which is the form map-based converters (e.g. ItemStackConverter) expect.
+     */
+    private Object convert(Converter<Object, Object> converter, Object value) {
+        if (value instanceof ConfigurationSection) {
+            value = toMap((ConfigurationSection) value);
+        }
+        if (!locationRefsBound && converter.getClass() == LocationRefConverter.class) {
+            locationRefsBound = true;
+        }
+        ConfigMetrics metrics = this.metrics;
+        if (metrics == null) return converter.convertToField(value);
+
+        long start = System.nanoTime();
+        try {
+            return converter.convertToField(value);
+        } finally {
+            metrics.recordConverter(converter.getClass(), System.nanoTime() - start);
         }
-        return Object.class;
     }
 
-    private boolean isComplexObject(Class<?> type) {
-        return !isPrimitive(type) &&
-                !type.isEnum() &&
-                !type.isArray() &&
-                !Collection.class.isAssignableFrom(type) &&
-                !Map.class.isAssignableFrom(type) &&
-                !type.getName().startsWith("java.") &&
-                !org.bukkit.Location.class.isAssignableFrom(type);
+    /**
+     * Converts one list element or map value; a malformed one is reported and skipped instead of failing the whole field.
+     */
+    private Object convertElement(Converter<Object, Object> converter, Object value, String path) {
+        try {
+            return convert(converter, value);
+        } catch (RuntimeException e) {
+            logger.warning("Error loading config (" + path + "): " + e.getMessage());
+            return null;
+        }
     }
 
-    private boolean isPrimitive(Class<?> type) {
-        return type.isPrimitive() ||
-                type == String.class ||
-                type == Character.class ||
-                Number.class.isAssignableFrom(type) ||
-                Boolean.class.isAssignableFrom(type);
+    private Object toConfig(Converter<Object, Object> converter, Object value) {
+        ConfigMetrics metrics = this.metrics;
+        if (metrics == null) return converter.convertToConfig(value);
+
+        long start = System.nanoTime();
+        try {
+            return converter.convertToConfig(value);
+        } finally {
+            metrics.recordConverter(converter.getClass(), System.nanoTime() - start);
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    private void applyConverter(Object instance, Field field, Object value) throws Exception {
-        Class<? extends Converter<?, ?>> converterClass = field.getAnnotation(Transform.class).value();
-        Converter<?, ?> converter = converterClass.getDeclaredConstructor().newInstance();
-        Object convertedValue = ((Converter<Object, Object>) converter).convertToField(value);
-        field.set(instance, convertedValue);
+    /**
+     * Translates the color codes of a {@code @Colored} text value; anything else is returned as is.
+     */
+    private static Object colorIn(FieldBinding binding, Object value) {
+        return binding.isColored() && value instanceof String ? ColorTranslator.translate((String) value) : value;
     }
 
-    private boolean isValid(String fieldName, Object value, Validate validate) {
-        if (value == null) {
-            if (validate.notNull()) {
-                logger.warning("Config Error: " + fieldName + " cannot be null!");
-                return false;
+    /**
+     * Translates the Java default of a {@code @Colored} field whose path is missing from the file, so a
+     * default like {@code "&aWelcome"} is shown colored before the key is ever written. Lists and maps
+     * are copied rather than changed in place, since a default may be shared or immutable.
+     */
+    private static void colorDefault(Object instance, FieldBinding binding) {
+        FieldAccessor accessor = binding.getAccessor();
+        Object current = accessor.get(instance);
+        if (current instanceof String) {
+            accessor.set(instance, ColorTranslator.translate((String) current));
+        } else if (current instanceof List) {
+            List<Object> colored = new ArrayList<>(((List<?>) current).size());
+            for (Object element : (List<?>) current) colored.add(colorIn(binding, element));
+            accessor.set(instance, colored);
+        } else if (current instanceof Map) {
+            Map<Object, Object> colored = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) current).entrySet()) {
+                colored.put(entry.getKey(), colorIn(binding, entry.getValue()));
             }
-            return true;
+            accessor.set(instance, colored);
         }
+    }
 
-        if (value instanceof Number) {
-            double val = ((Number) value).doubleValue();
-            if (val < validate.min() || val > validate.max()) {
-                logger.warning(String.format("Config Limit Error (%s): %s (Min:%s Max:%s)", fieldName, val, validate.min(), validate.max()));
-                return false;
-            }
-        }
+    /**
+     * Turns a {@code @Colored} text value back into its {@code &} form for saving.
+     */
+    private static Object colorOut(FieldBinding binding, Object value) {
+        return binding.isColored() && value instanceof String ? ColorTranslator.untranslate((String) value) : value;
+    }
 
-        if (value instanceof String && !validate.pattern().isEmpty()) {
-            String strVal = (String) value;
-            try {
-                if (!Pattern.matches(validate.pattern(), strVal)) {
-                    logger.warning("Config Format Error (" + fieldName + "): Value '" + strVal + "' does not match regex: " + validate.pattern());
-                    return false;
-                }
-            } catch (Exception e) {
-                logger.warning("Invalid Regex pattern in code for field: " + fieldName);
-                return false;
-            }
+    private Map<String, Object> toMap(ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            map.put(key, value instanceof ConfigurationSection ? toMap((ConfigurationSection) value) : value);
         }
-        return true;
+        return map;
     }
 
-    private void safeSetField(Object instance, Field field, Object value) throws IllegalAccessException {
-        if (field.isAnnotationPresent(Validate.class)) {
-            if (!isValid(field.getName(), value, field.getAnnotation(Validate.class))) {
+    private void safeSetField(Object instance, FieldBinding binding, Object value, String basePath, ValidationReport report) {
+        FieldValidator validator = binding.getValidator();
+        if (validator != null) {
+            String failedRule = validator.check(value);
+            if (failedRule != null) {
+                report.add(join(basePath, binding.getPathKey()), value, failedRule);
                 return;
             }
         }
         if (value == null) return;
-        Class<?> type = field.getType();
+        value = colorIn(binding, value);
+        FieldAccessor accessor = binding.getAccessor();
+        Class<?> type = binding.getType();
 
         if (type.isEnum() && value instanceof String) {
             boolean found = false;
             for (Object enumConstant : type.getEnumConstants()) {
                 if (((Enum<?>) enumConstant).name().equalsIgnoreCase((String) value)) {
-                    field.set(instance, enumConstant);
+                    accessor.set(instance, enumConstant);
                     found = true;
                     break;
                 }
             }
             if (!found) {
-                logger.warning("Enum Error: '" + field.getName() + "' invalid value: " + value);
+                logger.warning("Enum Error: '" + binding.getName() + "' invalid value: " + value);
             }
             return;
         }
 
+        if (type.isPrimitive() && setPrimitive(instance, accessor, type, value)) {
+            return;
+        }
+
         Object converted = convertPrimitive(value, type);
         if (converted != null) {
-            field.set(instance, converted);
+            accessor.set(instance, converted);
         } else if (type.isAssignableFrom(value.getClass())) {
-            field.set(instance, value);
+            accessor.set(instance, value);
         } else {
-            logger.warning("Type Mismatch: '" + field.getName() + "' Expected: " + type.getSimpleName() + ", Got: " + value.getClass().getSimpleName());
+            logger.warning("Type Mismatch: '" + binding.getName() + "' Expected: " + type.getSimpleName() + ", Got: " + value.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Unboxed fast path for the common primitive field types.
+     */
+    private boolean setPrimitive(Object instance, FieldAccessor accessor, Class<?> type, Object value) {
+        if (value instanceof Number) {
+            Number num = (Number) value;
+            if (type == int.class) accessor.setInt(instance, num.intValue());
+            else if (type == long.class) accessor.setLong(instance, num.longValue());
+            else if (type == double.class) accessor.setDouble(instance, num.doubleValue());
+            else return false;
+            return true;
+        }
+        if (value instanceof Boolean && type == boolean.class) {
+            accessor.setBoolean(instance, (Boolean) value);
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Checks the {@code minSize}/{@code maxSize} rule of a loaded list or map.
+     */
+    private boolean acceptSize(FieldBinding binding, int size, String basePath, String path, ValidationReport report) {
+        FieldValidator validator = binding.getValidator();
+        if (validator == null) return true;
+
+        String failedRule = validator.checkSize(size);
+        if (failedRule == null) return true;
+
+        report.add(join(basePath, path), "size " + size, failedRule);
+        return false;
+    }
+
+    private static String join(String basePath, String key) {
+        return basePath.isEmpty() ? key : basePath + "." + key;
     }
 
     private Object convertPrimitive(Object value, Class<?> targetType) {
@@ -579,50 +1037,54 @@ public class ConfigMapper {
         return null;
     }
 
-    private boolean shouldProcess(Field field) {
-        return !Modifier.isStatic(field.getModifiers()) &&
-                !Modifier.isFinal(field.getModifiers()) &&
-                !field.isAnnotationPresent(Ignore.class);
+    private void setComments(ConfigurationSection config, String path, List<String> comments) {
+        Optional<Method> method = SET_COMMENTS.get(config.getClass());
+        if (!method.isPresent()) return;
+        try {
+            method.get().invoke(config, path, comments);
+        } catch (IllegalAccessException | InvocationTargetException ignored) {}
     }
 
-    private String getPathKey(Field field) {
-        if (field.isAnnotationPresent(ConfigPath.class)) {
-            String val = field.getAnnotation(ConfigPath.class).value();
-            if (!val.isEmpty()) return val;
+    /**
+     * Runs the {@code @PostLoad} methods of the instance in order.
+     */
+    public void runPostLoad(Object instance) {
+        for (HookInvoker hook : ConfigSchema.of(instance.getClass()).getPostLoadHooks()) {
+            runHook(instance, hook, "PostLoad");
         }
-        return field.getName().replaceAll("([a-z])([A-Z]+)", "$1-$2").toLowerCase();
     }
 
-    private void setComments(ConfigurationSection config, String path, List<String> comments) {
+    /**
+     * Invokes a hook, times it and reports it if it exceeded the budget.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private long runHook(Object instance, HookInvoker hook, String kind) {
+        long start = System.nanoTime();
         try {
-            Method method = config.getClass().getMethod("setComments", String.class, List.class);
-            if (trySetAccessible(method)) {
-                method.invoke(config, path, comments);
-            }
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ignored) {}
-    }
-
-    private void runPostLoad(Object instance) {
-        for (Method method : instance.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(PostLoad.class)) {
-                try {
-                    if (!trySetAccessible(method)) continue;
-                    method.invoke(instance);
-                } catch (Exception e) {
-                    logger.warning("PostLoad metodu çalışırken hata: " + method.getName());
-                    logger.severe(e.getMessage());
-                }
-            }
+            hook.invoke(instance);
+        } catch (Throwable t) {
+            logger.log(Level.SEVERE, "Error running " + kind + " method: " + hook.getName(), t);
         }
+        long elapsed = System.nanoTime() - start;
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        String name = instance.getClass().getSimpleName() + "#" + hook.getName();
+        ConfigMetrics metrics = this.metrics;
+        if (metrics != null) metrics.recordHook(kind, name, elapsed);
+        long budget = hookBudgetMillis;
+        if (budget > 0 && millis > budget) {
+            logger.warning(kind + " hook '" + name + "' took " + millis + " ms (budget: " + budget + " ms)"
+                    + (hook.isAsync() ? " [async]" : ""));
+        } else if (logger.isLoggable(Level.FINE)) {
+            logger.fine(kind + " hook '" + name + "' took " + millis + " ms");
+        }
+        return elapsed;
     }
 
-    private boolean trySetAccessible(AccessibleObject object) {
-        try {
-            object.setAccessible(true);
-            return true;
-        } catch (Exception e) {
-            logger.severe("Cannot access member " + object.toString() + " due to security restrictions: " + e.getMessage());
-            return false;
-        }
+    private boolean checkAccessible(FieldBinding binding) {
+        if (binding.isAccessible()) return true;
+        logger.severe("Cannot access member " + binding.getField().toString() + " due to security restrictions.");
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package com.bentahsin.configuration.core;
+
+import com.bentahsin.configuration.annotation.*;
+import com.bentahsin.configuration.validation.ConfigConstraint;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection metadata of a config class, computed once per class and shared JVM-wide.
+ * <p>
+ * Load, save and reload all run from this precomputed plan instead of walking
+ * {@code getDeclaredFields()} and re-reading annotations on every call.
+ * Since the schema is cached per {@link Class}, it is released together with the
+ * plugin class loader that defined the config class.
+ * <p>
+ * If a compile-time generated {@link ConfigBinder} exists for the class, fields are
+ * accessed and instances created through it instead of reflection. The schema itself
+ * (fields, annotations, hooks) is still read reflectively once, with or without a binder.
+ */
+public final class ConfigSchema {
+
+    private static final ClassValue<ConfigSchema> CACHE = new ClassValue<ConfigSchema>() {
+        @Override
+        protected ConfigSchema computeValue(Class<?> type) {
+            return new ConfigSchema(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final ConfigBinder<Object> binder;
+    private final Constructor<?> constructor;
+    private final boolean constructorAccessible;
+    private final List<FieldBinding> bindings;
+    private final List<HookInvoker> postLoadHooks;
+    private final List<HookInvoker> onReloadHooks;
+    private final List<ChangeHook> onChangeHooks;
+    private final List<ConfigConstraint<Object>> constraints;
+    private final ConfigHeader header;
+    private final ConfigVersion version;
+    private final Backup backup;
+
+    private ConfigSchema(Class<?> type) {
+        this.type = type;
+        this.binder = loadBinder(type);
+
+        Constructor<?> ctor = null;
+        if (binder == null) {
+            try {
+                ctor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException ignored) {}
+        }
+        this.constructor = ctor;
+        this.constructorAccessible = ctor != null && setAccessible(ctor);
+
+        Map<String, Integer> slots = new HashMap<>();
+        if (binder != null) {
+            String[] names = binder.fieldNames();
+            for (int i = 0; i < names.length; i++) slots.put(names[i], i);
+        }
+
+        List<FieldBinding> fieldList = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!shouldProcess(field)) continue;
+
+            Integer slot = slots.get(field.getName());
+            FieldAccessor accessor = slot != null
+                    ? FieldAccessor.of(binder, slot, field.getType())
+                    : createAccessor(field);
+            fieldList.add(new FieldBinding(field, accessor));
+        }
+        this.bindings = Collections.unmodifiableList(fieldList);
+
+        List<HookInvoker> postLoad = new ArrayList<>();
+        List<HookInvoker> onReload = new ArrayList<>();
+        List<ChangeHook> onChange = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            PostLoad postLoadAnno = method.getAnnotation(PostLoad.class);
+            if (postLoadAnno != null) addHook(postLoad, method, postLoadAnno.order(), false, false);
+
+            OnReload onReloadAnno = method.getAnnotation(OnReload.class);
+            if (onReloadAnno != null) addHook(onReload, method, onReloadAnno.order(), onReloadAnno.async(), onReloadAnno.onlyOnChange());
+
+            OnChange onChangeAnno = method.getAnnotation(OnChange.class);
+            if (onChangeAnno != null && setAccessible(method)) {
+                try {
+                    onChange.add(new ChangeHook(method, onChangeAnno.value()));
+                } catch (IllegalArgumentException e) {
+                    org.bukkit.Bukkit.getLogger().warning("[Configuration] " + e.getMessage());
+                } catch (IllegalAccessException ignored) {}
+            }
+        }
+        Collections.sort(postLoad);
+        Collections.sort(onReload);
+        this.postLoadHooks = Collections.unmodifiableList(postLoad);
+        this.onReloadHooks = Collections.unmodifiableList(onReload);
+        this.onChangeHooks = Collections.unmodifiableList(onChange);
+
+        this.constraints = createConstraints(type.getAnnotation(Constraint.class));
+        this.header = type.getAnnotation(ConfigHeader.class);
+        this.version = type.getAnnotation(ConfigVersion.class);
+        this.backup = type.getAnnotation(Backup.class);
+    }
+
+    /**
+     * Returns the cached schema of the given class, building it on first use.
+     */
+    public static ConfigSchema of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() { return type; }
+
+    /**
+     * The generated binder of this class, or {@code null} if reflection is used.
+     */
+    public ConfigBinder<Object> getBinder() { return binder; }
+
+    public List<FieldBinding> getBindings() { return bindings; }
+
+    /**
+     * {@code @PostLoad} hooks, sorted by order.
+     */
+    public List<HookInvoker> getPostLoadHooks() { return postLoadHooks; }
+
+    /**
+     * {@code @OnReload} hooks, sorted by order.
+     */
+    public List<HookInvoker> getOnReloadHooks() { return onReloadHooks; }
+
+    public List<ChangeHook> getOnChangeHooks() { return onChangeHooks; }
+
+    public List<ConfigConstraint<Object>> getConstraints() { return constraints; }
+    public ConfigHeader getHeader() { return header; }
+    public ConfigVersion getVersion() { return version; }
+    public Backup getBackup() { return backup; }
+
+    /**
+     * Creates a fresh instance through the no-args constructor.
+     *
+     * @throws NoSuchMethodException if the class has no no-args constructor
+     * @throws IllegalAccessException if the constructor could not be made accessible
+     */
+    public Object newInstance() throws ReflectiveOperationException {
+        if (binder != null) {
+            return binder.newInstance();
+        }
+        if (constructor == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>()");
+        }
+        if (!constructorAccessible) {
+            throw new IllegalAccessException("Cannot access constructor of " + type.getName());
+        }
+        return constructor.newInstance();
+    }
+
+    /**
+     * True for the inner-class-but-not-static mistake, used for clearer error messages.
+     */
+    public boolean isNonStaticInnerClass() {
+        return type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers());
+    }
+
+    static boolean isComplexObject(Class<?> type) {
+        return !isPrimitive(type) &&
+                !type.isEnum() &&
+                !type.isArray() &&
+                !Collection.class.isAssignableFrom(type) &&
+                !Map.class.isAssignableFrom(type) &&
+                !type.getName().startsWith("java.") &&
+                !org.bukkit.Location.class.isAssignableFrom(type);
+    }
+
+    static boolean isPrimitive(Class<?> type) {
+        return type.isPrimitive() ||
+                type == String.class ||
+                type == Character.class ||
+                Number.class.isAssignableFrom(type) ||
+                Boolean.class.isAssignableFrom(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ConfigConstraint<Object>> createConstraints(Constraint annotation) {
+        if (annotation == null) return Collections.emptyList();
+
+        List<ConfigConstraint<Object>> list = new ArrayList<>();
+        for (Class<? extends ConfigConstraint<?>> constraintClass : annotation.value()) {
+            try {
+                Constructor<? extends ConfigConstraint<?>> ctor = constraintClass.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                list.add((ConfigConstraint<Object>) ctor.newInstance());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalStateException("Constraint '" + constraintClass.getName() + "' needs a no-args constructor", e);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static boolean shouldProcess(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) &&
+                !Modifier.isFinal(field.getModifiers()) &&
+                !field.isAnnotationPresent(Ignore.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConfigBinder<Object> loadBinder(Class<?> type) {
+        String name = type.getName();
+        int dot = name.lastIndexOf('.');
+        String binderName = name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + ConfigBinder.SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, type.getClassLoader());
+            if (!ConfigBinder.class.isAssignableFrom(binderClass)) return null;
+            return (ConfigBinder<Object>) binderClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // No generated binder (or an unusable one): fall back to reflection.
+            return null;
+        }
+    }
+
+    private static void addHook(List<HookInvoker> hooks, Method method, int order, boolean async, boolean onlyOnChange) {
+        if (!setAccessible(method)) return;
+        try {
+            hooks.add(new HookInvoker(method, order, async, onlyOnChange));
+        } catch (IllegalAccessException ignored) {}
+    }
+
+    private static FieldAccessor createAccessor(Field field) {
+        if (!setAccessible(field)) return null;
+        try {
+            return FieldAccessor.of(field);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static boolean setAccessible(AccessibleObject object) {
+        try {
+            object.setAccessible(true);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.bentahsin.configuration.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Getter/setter pair for a single field, built once per field.
+ * <p>
+ * Backed either by {@link MethodHandle}s or, when the config class has a generated
+ * {@link ConfigBinder}, by the binder's plain field accesses. Compared to
+ * {@link Field#get}/{@link Field#set} this skips the per-call access checks, and the
+ * {@code setInt}/{@code setLong}/{@code setDouble}/{@code setBoolean} paths write
+ * primitive fields without boxing.
+ */
+public abstract class FieldAccessor {
+
+    private final Class<?> type;
+
+    private FieldAccessor(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Builds a MethodHandle accessor for the given field. The field must already be accessible.
+     *
+     * @throws IllegalAccessException if the field is not accessible to this library
+     */
+    public static FieldAccessor of(Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        return new HandleAccessor(field.getType(), lookup.unreflectGetter(field), lookup.unreflectSetter(field));
+    }
+
+    /**
+     * Builds an accessor that delegates to a slot of a generated binder.
+     */
+    @SuppressWarnings("unchecked")
+    public static FieldAccessor of(ConfigBinder<?> binder, int slot, Class<?> type) {
+        return new BinderAccessor(type, (ConfigBinder<Object>) binder, slot);
+    }
+
+    /**
+     * Builds an accessor for a one-element {@code Object[]} holder, used to convert the content
+     * of a {@link LazyValue} with the same code paths as a real field.
+     */
+    static FieldAccessor holder(Class<?> type) {
+        return new HolderAccessor(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public abstract Object get(Object instance);
+
+    /**
+     * Sets a boxed value. For primitive fields the value must be the exact wrapper type.
+     */
+    public abstract void set(Object instance, Object value);
+
+    public abstract void setInt(Object instance, int value);
+
+    public abstract void setLong(Object instance, long value);
+
+    public abstract void setDouble(Object instance, double value);
+
+    public abstract void setBoolean(Object instance, boolean value);
+
+    private static final class HandleAccessor extends FieldAccessor {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle primitiveSetter;
+
+        HandleAccessor(Class<?> type, MethodHandle rawGetter, MethodHandle rawSetter) {
+            super(type);
+            this.getter = rawGetter.asType(GETTER_TYPE);
+            this.setter = rawSetter.asType(SETTER_TYPE);
+            this.primitiveSetter = type.isPrimitive()
+                    ? rawSetter.asType(MethodType.methodType(void.class, Object.class, type))
+                    : null;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setInt(Object instance, int value) {
+            if (getType() != int.class) {
+                set(instance, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setLong(Object instance, long value) {
+            if (getType() != long.class) {
+                set(instance, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) {
+            if (getType() != double.class) {
+                set(instance, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) {
+            if (getType() != boolean.class) {
+                set(instance, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable t) {
+            if (t instanceof RuntimeException) return (RuntimeException) t;
+            if (t instanceof Error) throw (Error) t;
+            return new IllegalStateException(t);
+        }
+    }
+
+    private static final class BinderAccessor extends FieldAccessor {
+
+        private final ConfigBinder<Object> binder;
+        private final int slot;
+
+        BinderAccessor(Class<?> type, ConfigBinder<Object> binder, int slot) {
+            super(type);
+            this.binder = binder;
+            this.slot = slot;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            return binder.get(instance, slot);
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            binder.set(instance, slot, value);
+        }
+
+        @Override
+        public void setInt(Object instance, int value) {
+            binder.setInt(instance, slot, value);
+        }
+
+        @Override
+        public void setLong(Object instance, long value) {
+            binder.setLong(instance, slot, value);
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) {
+            binder.setDouble(instance, slot, value);
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) {
+            binder.setBoolean(instance, slot, value);
+        }
+    }
+
+    private static final class HolderAccessor extends FieldAccessor {
+
+        HolderAccessor(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        public Object get(Object instance) {
+            return ((Object[]) instance)[0];
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            ((Object[]) instance)[0] = value;
+        }
+
+        @Override
+        public void setInt(Object instance, int value) {
+            set(instance, value);
+        }
+
+        @Override
+        public void setLong(Object instance, long value) {
+            set(instance, value);
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) {
+            set(instance, value);
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) {
+            set(instance, value);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.bentahsin.configuration.core;
+
+import com.bentahsin.configuration.annotation.*;
+import com.bentahsin.configuration.converter.Converter;
+import com.bentahsin.configuration.converter.ConverterRegistry;
+import com.bentahsin.configuration.validation.FieldValidator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed binding plan for a single config field.
+ * <p>
+ * Everything that used to be looked up per load/save (annotations, path key,
+ * generic element types) is resolved once when the owning {@link ConfigSchema} is built.
+ */
+public final class FieldBinding {
+
+    private static final Pattern KEBAB_PATTERN = Pattern.compile("([a-z])([A-Z]+)");
+
+    /**
+     * How the mapper treats the field's value.
+     */
+    public enum Kind {
+        TRANSFORM, MAP, LIST, OBJECT, VALUE, LAZY
+    }
+
+    private final Field field;
+    private final Class<?> type;
+    private final FieldAccessor accessor;
+    private final String pathKey;
+    private final String legacyPath;
+    private final Kind kind;
+    private final Converter<Object, Object> converter;
+    private final Converter<Object, Object> elementConverter;
+    private final FieldValidator validator;
+    private final List<String> comments;
+    private final Class<?> listType;
+    private final Class<?> mapKeyType;
+    private final Class<?> mapValueType;
+    private final boolean complexElement;
+    private final boolean colored;
+    private final FieldBinding lazyBinding;
+
+    FieldBinding(Field field, FieldAccessor accessor) {
+        this(field, accessor, field.getType(), field.getGenericType());
+    }
+
+    private FieldBinding(Field field, FieldAccessor accessor, Class<?> type, Type genericType) {
+        this.field = field;
+        this.type = type;
+        this.accessor = accessor;
+        this.pathKey = resolvePathKey(field);
+        this.legacyPath = field.isAnnotationPresent(LegacyPath.class) ? field.getAnnotation(LegacyPath.class).value() : null;
+        this.validator = FieldValidator.compile(field.getAnnotation(Validate.class));
+        this.comments = field.isAnnotationPresent(Comment.class)
+                ? Collections.unmodifiableList(Arrays.asList(field.getAnnotation(Comment.class).value()))
+                : null;
+
+        this.listType = typeArgument(genericType, 0, Object.class);
+        this.mapKeyType = typeArgument(genericType, 0, String.class);
+        this.mapValueType = typeArgument(genericType, 1, Object.class);
+        this.colored = field.isAnnotationPresent(Colored.class)
+                && (type == String.class
+                || (List.class.isAssignableFrom(type) && listType == String.class)
+                || (Map.class.isAssignableFrom(type) && mapValueType == String.class));
+
+        if (type == LazyValue.class) {
+            // The content is bound by a nested binding of the type argument, sharing the field's annotations.
+            Type contentType = genericType instanceof ParameterizedType
+                    ? ((ParameterizedType) genericType).getActualTypeArguments()[0]
+                    : Object.class;
+            Class<?> contentClass = rawClass(contentType);
+            this.kind = Kind.LAZY;
+            this.converter = null;
+            this.elementConverter = null;
+            this.complexElement = false;
+            this.lazyBinding = new FieldBinding(field, FieldAccessor.holder(contentClass), contentClass, contentType);
+            return;
+        }
+        this.lazyBinding = null;
+
+        this.converter = field.isAnnotationPresent(Transform.class)
+                ? cast(ConverterRegistry.get(field.getAnnotation(Transform.class).value()))
+                : cast(ConverterRegistry.find(type));
+
+        if (converter != null) {
+            this.kind = Kind.TRANSFORM;
+            this.elementConverter = null;
+            this.complexElement = false;
+        } else if (Map.class.isAssignableFrom(type)) {
+            this.kind = Kind.MAP;
+            this.elementConverter = cast(ConverterRegistry.find(mapValueType));
+            this.complexElement = elementConverter == null && ConfigSchema.isComplexObject(mapValueType);
+        } else if (List.class.isAssignableFrom(type)) {
+            this.kind = Kind.LIST;
+            this.elementConverter = cast(ConverterRegistry.find(listType));
+            this.complexElement = elementConverter == null && ConfigSchema.isComplexObject(listType);
+        } else if (ConfigSchema.isComplexObject(type)) {
+            this.kind = Kind.OBJECT;
+            this.elementConverter = null;
+            this.complexElement = false;
+        } else {
+            this.kind = Kind.VALUE;
+            this.elementConverter = null;
+            this.complexElement = false;
+        }
+    }
+
+    public Field getField() { return field; }
+    public String getName() { return field.getName(); }
+    public Class<?> getType() { return type; }
+    public boolean isAccessible() { return accessor != null; }
+
+    /**
+     * Precompiled getter/setter of the field, or {@code null} if the field is not accessible.
+     */
+    public FieldAccessor getAccessor() { return accessor; }
+
+    public String getPathKey() { return pathKey; }
+    public String getLegacyPath() { return legacyPath; }
+    public Kind getKind() { return kind; }
+
+    /**
+     * The shared converter of a TRANSFORM binding, from {@code @Transform} or the {@link ConverterRegistry}.
+     */
+    public Converter<Object, Object> getConverter() { return converter; }
+
+    /**
+     * For LIST and MAP bindings: the registered converter of the element (or map value) type, if any.
+     */
+    public Converter<Object, Object> getElementConverter() { return elementConverter; }
+
+    /**
+     * The compiled {@code @Validate} rule, or {@code null} if the field has none.
+     */
+    public FieldValidator getValidator() { return validator; }
+
+    public List<String> getComments() { return comments; }
+    public Class<?> getListType() { return listType; }
+    public Class<?> getMapKeyType() { return mapKeyType; }
+    public Class<?> getMapValueType() { return mapValueType; }
+
+    /**
+     * For LIST and MAP bindings: whether elements (or map values) are nested config objects.
+     */
+    public boolean isComplexElement() { return complexElement; }
+
+    /**
+     * Whether the field (or its list elements / map values) is {@code @Colored} text.
+     */
+    public boolean isColored() { return colored; }
+
+    /**
+     * For LAZY bindings: the binding of the {@link LazyValue}'s content, which works on a one-element holder array.
+     */
+    public FieldBinding getLazyBinding() { return lazyBinding; }
+
+    @SuppressWarnings("unchecked")
+    private static Converter<Object, Object> cast(Converter<?, ?> converter) {
+        return (Converter<Object, Object>) converter;
+    }
+
+    private static String resolvePathKey(Field field) {
+        if (field.isAnnotationPresent(ConfigPath.class)) {
+            String val = field.getAnnotation(ConfigPath.class).value();
+            if (!val.isEmpty()) return val;
+        }
+        return KEBAB_PATTERN.matcher(field.getName()).replaceAll("$1-$2").toLowerCase();
+    }
+
+    private static Class<?> typeArgument(Type genericType, int index, Class<?> fallback) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (args.length > index) {
+                Type arg = args[index];
+                if (arg instanceof Class) return (Class<?>) arg;
+                if (arg instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) arg).getRawType();
+            }
+        }
+        return fallback;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) type).getRawType();
+        return Object.class;
+    }
+}
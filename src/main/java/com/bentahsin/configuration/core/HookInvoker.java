@@ -0,0 +1,57 @@
+package com.bentahsin.configuration.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A cached {@code @PostLoad}/{@code @OnReload} method, resolved once per class.
+ */
+public final class HookInvoker implements Comparable<HookInvoker> {
+
+    private static final MethodType HOOK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final String name;
+    private final int order;
+    private final boolean async;
+    private final boolean onlyOnChange;
+    private final MethodHandle handle;
+
+    HookInvoker(Method method, int order, boolean async, boolean onlyOnChange) throws IllegalAccessException {
+        this.name = method.getName();
+        this.order = order;
+        this.async = async;
+        this.onlyOnChange = onlyOnChange;
+
+        MethodHandle raw = MethodHandles.lookup().unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            raw = MethodHandles.dropArguments(raw, 0, Object.class);
+        }
+        this.handle = raw.asType(HOOK_TYPE);
+    }
+
+    public String getName() { return name; }
+    public int getOrder() { return order; }
+
+    /**
+     * Whether the hook asked to run off the calling thread.
+     */
+    public boolean isAsync() { return async; }
+
+    /**
+     * Whether the hook is skipped on reloads that did not change anything.
+     */
+    public boolean isOnlyOnChange() { return onlyOnChange; }
+
+    public void invoke(Object instance) throws Throwable {
+        handle.invokeExact(instance);
+    }
+
+    @Override
+    public int compareTo(HookInvoker other) {
+        int result = Integer.compare(order, other.order);
+        return result != 0 ? result : name.compareTo(other.name);
+    }
+}
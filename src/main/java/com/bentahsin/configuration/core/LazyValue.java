@@ -0,0 +1,74 @@
+package com.bentahsin.configuration.core;
+
+import java.util.function.Function;
+
+/**
+ * A config value that is converted on first access instead of at load time.
+ * <p>
+ * Meant for big sections that are rarely used, e.g. a shop catalog on servers where the shop is disabled.
+ * Loading only keeps a plain copy of the raw subtree; conversion, {@code @Validate} rules and converters
+ * run the first time {@link #get()} is called, exactly once, from whichever thread gets there first.
+ * <pre>{@code
+ * public LazyValue<Map<String, ShopItem>> shopItems = LazyValue.of(new HashMap<>());
+ * }</pre>
+ * If the value was never accessed, saving writes the raw subtree back unchanged.
+ *
+ * @param <T> The converted type, declared the same way as a normal field of that type
+ */
+public final class LazyValue<T> {
+
+    private final Function<Object, T> resolver;
+    private volatile Object raw;
+    private volatile boolean resolved;
+    private T value;
+
+    LazyValue(Object raw, Function<Object, T> resolver) {
+        this.raw = raw;
+        this.resolver = resolver;
+    }
+
+    private LazyValue(T value) {
+        this.resolver = null;
+        this.value = value;
+        this.resolved = true;
+    }
+
+    /**
+     * An already resolved value, used as the field default.
+     */
+    public static <T> LazyValue<T> of(T value) {
+        return new LazyValue<>(value);
+    }
+
+    /**
+     * The converted value. The first call does the conversion; if it fails, the field default is returned.
+     */
+    public T get() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    value = resolver.apply(raw);
+                    raw = null;
+                    resolved = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * The raw subtree while the value is not resolved yet, null afterwards.
+     */
+    Object getRaw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return resolved ? String.valueOf(value) : "LazyValue[unresolved]";
+    }
+}
@@ -0,0 +1,152 @@
+package com.bentahsin.configuration.core;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+
+/**
+ * Read view over the values a config object is bound from.
+ * <p>
+ * Either a {@link ConfigurationSection} or a plain map as it comes out of the YAML parser (list elements,
+ * and maps nested in them). Binding list and map elements straight from their maps avoids copying every
+ * element into a temporary {@code MemoryConfiguration} first.
+ */
+abstract class ValueSource {
+
+    /**
+     * Wraps a section or a map; returns null for any other value.
+     */
+    static ValueSource of(Object value) {
+        if (value instanceof ConfigurationSection) return new SectionSource((ConfigurationSection) value);
+        if (value instanceof Map) return new MapSource((Map<?, ?>) value);
+        return null;
+    }
+
+    /**
+     * A source holding a single value at the given path, used to bind the content of a {@link LazyValue}.
+     */
+    static ValueSource single(String path, Object value) {
+        return new SingleSource(path, value);
+    }
+
+    /**
+     * Value at a (possibly dotted) path, or null.
+     */
+    abstract Object get(String path);
+
+    /**
+     * Direct children in file order, as a shallow view. Nested sections and maps are returned as they are.
+     */
+    abstract Map<String, Object> values();
+
+    /**
+     * Drops a migrated legacy path. Only sections are written back to the file, so maps ignore it.
+     */
+    abstract void remove(String path);
+
+    boolean contains(String path) {
+        return get(path) != null;
+    }
+
+    ValueSource child(String path) {
+        return of(get(path));
+    }
+
+    List<?> getList(String path) {
+        Object value = get(path);
+        return value instanceof List ? (List<?>) value : null;
+    }
+
+    private static final class SectionSource extends ValueSource {
+        private final ConfigurationSection section;
+
+        private SectionSource(ConfigurationSection section) {
+            this.section = section;
+        }
+
+        @Override
+        Object get(String path) {
+            return section.get(path);
+        }
+
+        @Override
+        Map<String, Object> values() {
+            return section.getValues(false);
+        }
+
+        @Override
+        void remove(String path) {
+            section.set(path, null);
+        }
+    }
+
+    private static final class SingleSource extends ValueSource {
+        private final String path;
+        private final Object value;
+
+        private SingleSource(String path, Object value) {
+            this.path = path;
+            this.value = value;
+        }
+
+        @Override
+        Object get(String path) {
+            return this.path.equals(path) ? value : null;
+        }
+
+        @Override
+        Map<String, Object> values() {
+            return Collections.singletonMap(path, value);
+        }
+
+        @Override
+        void remove(String path) {
+        }
+    }
+
+    private static final class MapSource extends ValueSource {
+        private final Map<?, ?> map;
+        private Map<String, Object> stringKeyed;
+
+        private MapSource(Map<?, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        Object get(String path) {
+            int dot = path.indexOf('.');
+            if (dot < 0) return lookup(path);
+
+            ValueSource next = of(lookup(path.substring(0, dot)));
+            return next == null ? null : next.get(path.substring(dot + 1));
+        }
+
+        private Object lookup(String key) {
+            Object value = map.get(key);
+            if (value != null) return value;
+            // YAML keys like "1:" or "true:" are parsed as numbers/booleans, sections would have stringified them.
+            return values().get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Map<String, Object> values() {
+            if (stringKeyed != null) return stringKeyed;
+
+            for (Object key : map.keySet()) {
+                if (!(key instanceof String)) {
+                    Map<String, Object> copy = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        copy.put(String.valueOf(entry.getKey()), entry.getValue());
+                    }
+                    return stringKeyed = copy;
+                }
+            }
+            return stringKeyed = Collections.unmodifiableMap((Map<String, Object>) map);
+        }
+
+        @Override
+        void remove(String path) {
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bentahsin.configuration.metrics;
+
+/**
+ * Counters of a single bind pass, filled in by the mapper.
+ */
+public final class BindStats {
+
+    private long nanos;
+    private int fields;
+    private int elements;
+    private int validationFailures;
+
+    public void addField() { fields++; }
+    public void addElements(int count) { elements += count; }
+    public void setNanos(long nanos) { this.nanos = nanos; }
+    public void setValidationFailures(int validationFailures) { this.validationFailures = validationFailures; }
+
+    public long getNanos() { return nanos; }
+
+    /**
+     * Fields that had a value in the config, including those of nested objects, list elements and map values.
+     */
+    public int getFields() { return fields; }
+
+    /**
+     * List elements and map entries bound.
+     */
+    public int getElements() { return elements; }
+
+    public int getValidationFailures() { return validationFailures; }
+}
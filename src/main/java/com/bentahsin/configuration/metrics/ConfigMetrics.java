@@ -0,0 +1,132 @@
+package com.bentahsin.configuration.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Load, save and reload metrics of a {@link com.bentahsin.configuration.Configuration}.
+ * <p>
+ * Kept per file (relative to the plugin's data folder), per converter class and per {@code @PostLoad}/{@code @OnReload}
+ * method. File operations and hooks are also emitted as JDK Flight Recorder events
+ * ({@code com.bentahsin.configuration.File} / {@code .Hook}) when a recording is running. Converter calls are
+ * not, they are too frequent for one event each.
+ * <p>
+ * The {@code record*} methods are called by the library itself.
+ */
+public final class ConfigMetrics {
+
+    private static final boolean JFR = jfrAvailable();
+
+    private final Map<String, FileMetrics> files = new ConcurrentHashMap<>();
+    private final Map<String, Timing> converters = new ConcurrentHashMap<>();
+    private final Map<String, Timing> hooks = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Metrics are on by default; turning them off skips all recording, including the JFR events.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the metrics of the file, or {@code null} if nothing was recorded for it yet
+     */
+    public FileMetrics getFile(String fileName) {
+        return files.get(fileName);
+    }
+
+    public Map<String, FileMetrics> getFiles() {
+        return Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * Calls per converter class (simple name), in both directions.
+     */
+    public Map<String, Timing> getConverters() {
+        return Collections.unmodifiableMap(converters);
+    }
+
+    /**
+     * Calls per hook, keyed as {@code "PostLoad Class#method"} / {@code "OnReload Class#method"}.
+     */
+    public Map<String, Timing> getHooks() {
+        return Collections.unmodifiableMap(hooks);
+    }
+
+    public void reset() {
+        files.clear();
+        converters.clear();
+        hooks.clear();
+    }
+
+    /**
+     * Writes everything recorded so far to the logger, one line per file, converter and hook.
+     */
+    public void log(Logger logger) {
+        files.values().forEach(file -> logger.info("[Metrics] " + file));
+        converters.forEach((name, timing) -> logger.info("[Metrics] converter " + name + ": " + timing));
+        hooks.forEach((name, timing) -> logger.info("[Metrics] " + name + ": " + timing));
+    }
+
+    public void recordParse(String fileName, long nanos, long bytes) {
+        if (!enabled) return;
+        file(fileName).recordParse(nanos, bytes);
+        if (JFR) JfrEvents.file("parse", fileName, nanos, bytes, null);
+    }
+
+    public void recordBind(String fileName, BindStats stats) {
+        if (!enabled) return;
+        file(fileName).recordBind(stats);
+        if (JFR) JfrEvents.file("bind", fileName, stats.getNanos(), 0, stats);
+    }
+
+    /**
+     * @param written {@code false} if the write was skipped because the file already had this content
+     */
+    public void recordSave(String fileName, long nanos, long bytes, boolean written) {
+        if (!enabled) return;
+        file(fileName).recordSave(nanos, bytes, written);
+        if (JFR) JfrEvents.file(written ? "save" : "save-skipped", fileName, nanos, written ? bytes : 0, null);
+    }
+
+    public void recordBackup(String fileName, long nanos, long bytes) {
+        if (!enabled) return;
+        file(fileName).recordBackup(nanos, bytes);
+        if (JFR) JfrEvents.file("backup", fileName, nanos, bytes, null);
+    }
+
+    public void recordConverter(Class<?> converter, long nanos) {
+        if (!enabled) return;
+        converters.computeIfAbsent(converter.getSimpleName(), k -> new Timing()).record(nanos);
+    }
+
+    /**
+     * @param kind {@code "PostLoad"} or {@code "OnReload"}
+     * @param hook {@code Class#method}
+     */
+    public void recordHook(String kind, String hook, long nanos) {
+        if (!enabled) return;
+        hooks.computeIfAbsent(kind + " " + hook, k -> new Timing()).record(nanos);
+        if (JFR) JfrEvents.hook(kind, hook, nanos);
+    }
+
+    private FileMetrics file(String fileName) {
+        return files.computeIfAbsent(fileName, FileMetrics::new);
+    }
+
+    private static boolean jfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ConfigMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
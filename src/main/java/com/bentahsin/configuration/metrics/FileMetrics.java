@@ -0,0 +1,100 @@
+package com.bentahsin.configuration.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single config file. Thread-safe.
+ */
+public final class FileMetrics {
+
+    private final String fileName;
+    private final Timing parse = new Timing();
+    private final Timing bind = new Timing();
+    private final Timing save = new Timing();
+    private final Timing backup = new Timing();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder writesSkipped = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private volatile int fields;
+    private volatile int elements;
+
+    FileMetrics(String fileName) {
+        this.fileName = fileName;
+    }
+
+    void recordParse(long nanos, long bytes) {
+        parse.record(nanos);
+        bytesRead.add(bytes);
+    }
+
+    void recordBind(BindStats stats) {
+        bind.record(stats.getNanos());
+        fields = stats.getFields();
+        elements = stats.getElements();
+        validationFailures.add(stats.getValidationFailures());
+    }
+
+    void recordSave(long nanos, long bytes, boolean written) {
+        save.record(nanos);
+        if (written) {
+            bytesWritten.add(bytes);
+        } else {
+            writesSkipped.increment();
+        }
+    }
+
+    void recordBackup(long nanos, long bytes) {
+        backup.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    public String getFileName() { return fileName; }
+
+    /**
+     * Reading and parsing the file (or loading it from the parse cache).
+     */
+    public Timing getParse() { return parse; }
+
+    /**
+     * Binding the parsed values into config objects, including conversion and validation.
+     */
+    public Timing getBind() { return bind; }
+
+    /**
+     * Serializing and writing the file, including skipped writes of unchanged content.
+     */
+    public Timing getSave() { return save; }
+
+    /**
+     * Backups, measured from the request until the backup is written.
+     */
+    public Timing getBackup() { return backup; }
+
+    public long getBytesRead() { return bytesRead.sum(); }
+
+    /**
+     * Bytes written to the file and its (compressed) backups.
+     */
+    public long getBytesWritten() { return bytesWritten.sum(); }
+
+    public long getWritesSkipped() { return writesSkipped.sum(); }
+    public long getValidationFailures() { return validationFailures.sum(); }
+
+    /**
+     * Fields bound by the last load, see {@link BindStats#getFields()}.
+     */
+    public int getFields() { return fields; }
+
+    /**
+     * List elements and map entries bound by the last load.
+     */
+    public int getElements() { return elements; }
+
+    @Override
+    public String toString() {
+        return fileName + ": parse " + parse + ", bind " + bind + ", save " + save + ", backup " + backup
+                + ", read " + getBytesRead() + " B, written " + getBytesWritten() + " B, " + fields + " fields, "
+                + elements + " elements, " + getValidationFailures() + " validation failure(s)";
+    }
+}
@@ -0,0 +1,74 @@
+package com.bentahsin.configuration.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * JDK Flight Recorder events. Only loaded by {@link ConfigMetrics} after it checked that {@code jdk.jfr} exists,
+ * so the library keeps working on JVMs without it.
+ */
+final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    static void file(String operation, String file, long nanos, long bytes, BindStats stats) {
+        FileEvent event = new FileEvent();
+        if (!event.isEnabled()) return;
+        event.operation = operation;
+        event.file = file;
+        event.elapsed = nanos;
+        event.bytes = bytes;
+        if (stats != null) {
+            event.fields = stats.getFields();
+            event.elements = stats.getElements();
+            event.validationFailures = stats.getValidationFailures();
+        }
+        event.commit();
+    }
+
+    static void hook(String kind, String hook, long nanos) {
+        HookEvent event = new HookEvent();
+        if (!event.isEnabled()) return;
+        event.kind = kind;
+        event.hook = hook;
+        event.elapsed = nanos;
+        event.commit();
+    }
+
+    @Name("com.bentahsin.configuration.File")
+    @Label("Config File Operation")
+    @Category("Configuration")
+    @Description("Parse, bind, save or backup of a config file")
+    static final class FileEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("File")
+        String file;
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+        @Label("Fields")
+        int fields;
+        @Label("Elements")
+        int elements;
+        @Label("Validation Failures")
+        int validationFailures;
+    }
+
+    @Name("com.bentahsin.configuration.Hook")
+    @Label("Config Hook")
+    @Category("Configuration")
+    @Description("A @PostLoad or @OnReload method")
+    static final class HookEvent extends Event {
+        @Label("Kind")
+        String kind;
+        @Label("Hook")
+        String hook;
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+}
@@ -1,26 +1,73 @@
 package com.bentahsin.configuration.util;
 
+import com.bentahsin.configuration.annotation.Backup;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for creating timestamped backups of configuration files.
  * <p>
- * Usage: Call {@link #createBackup(JavaPlugin, File, String, String)} to create a backup of a configuration file.
+ * Backups are named {@code <file>_<suffix>_<timestamp>.yml.gz} and gzip-compressed. A backup whose content
+ * is identical to the latest backup of the same file is skipped, and old backups are pruned according to
+ * {@link Backup#maxCount()} and {@link Backup#maxAge()}.
+ * <p>
+ * Usage: Call {@link #createBackup(JavaPlugin, File, Backup, String, Executor)} to back up a configuration file
+ * in the background.
  */
 public class BackupHandler {
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final String TIMESTAMP_REGEX = "\\d{4}-\\d{2}-\\d{2}_\\d{2}-\\d{2}-\\d{2}(-\\d+)?";
+    private static final String EXTENSION = ".yml.gz";
+
+    /**
+     * Backups of the same folder are written one at a time, so deduplication and pruning see a consistent folder.
+     */
+    private static final Map<File, Object> FOLDER_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Backs up the file in the background, using the settings of the {@code @Backup} annotation.
+     * <p>
+     * The file content is read on the calling thread, so the backup holds the file as it is right now even if
+     * it is rewritten right after; compressing, writing and pruning run on the executor.
+     *
+     * @param plugin     JavaPlugin instance (for Logging and Path resolution)
+     * @param sourceFile The source file to back up (e.g. config.yml)
+     * @param settings   The {@code @Backup} annotation of the config class
+     * @param suffix     Tag to append to the filename (e.g. "migration", "broken")
+     * @param executor   Executor for the compression and file I/O
+     * @return the backup file, or null if it was skipped or failed
+     */
+    public static CompletableFuture<File> createBackup(JavaPlugin plugin, File sourceFile, Backup settings,
+                                                       String suffix, Executor executor) {
+        byte[] content = snapshot(plugin, sourceFile);
+        if (content == null) return CompletableFuture.completedFuture(null);
+
+        File backupFolder = new File(plugin.getDataFolder(), settings.path());
+        long maxAgeMillis = parseMaxAge(plugin, settings.maxAge());
+        return CompletableFuture.supplyAsync(
+                () -> write(plugin, sourceFile.getName(), content, backupFolder, suffix, settings.maxCount(), maxAgeMillis),
+                executor);
+    }
 
     /**
-     * Creates a backup of the specified file in the target directory.
+     * Creates a backup of the specified file in the target directory, on the calling thread and without pruning.
      *
      * @param plugin     JavaPlugin instance (for Logging and Path resolution)
      * @param sourceFile The source file to back up (e.g. config.yml)
@@ -28,24 +75,126 @@ public class BackupHandler {
      * @param suffix     Tag to append to the filename (e.g. "migration", "broken")
      */
     public static void createBackup(JavaPlugin plugin, File sourceFile, String folderPath, String suffix) {
-        if (!sourceFile.exists()) return;
+        byte[] content = snapshot(plugin, sourceFile);
+        if (content == null) return;
+
+        write(plugin, sourceFile.getName(), content, new File(plugin.getDataFolder(), folderPath), suffix, 0, 0);
+    }
 
-        File backupFolder = new File(plugin.getDataFolder(), folderPath);
-        if (!backupFolder.exists()) {
-            boolean ignored = backupFolder.mkdirs();
+    private static byte[] snapshot(JavaPlugin plugin, File sourceFile) {
+        if (!sourceFile.exists()) return null;
+        try {
+            return Files.readAllBytes(sourceFile.toPath());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Error occurred during backup creation!", e);
+            return null;
         }
+    }
 
-        String fileName = sourceFile.getName().replace(".yml", "");
-        String timestamp = DATE_FORMAT.format(new Date());
-        String backupName = String.format("%s_%s_%s.yml", fileName, suffix, timestamp);
+    private static File write(JavaPlugin plugin, String sourceName, byte[] content, File backupFolder, String suffix,
+                              int maxCount, long maxAgeMillis) {
+        String baseName = sourceName.replace(".yml", "");
+        Pattern pattern = Pattern.compile(Pattern.quote(baseName) + "_[^_]+_" + TIMESTAMP_REGEX + "\\.yml(\\.gz)?");
 
-        File backupFile = new File(backupFolder, backupName);
+        synchronized (FOLDER_LOCKS.computeIfAbsent(backupFolder.getAbsoluteFile(), k -> new Object())) {
+            try {
+                if (!backupFolder.exists()) {
+                    boolean ignored = backupFolder.mkdirs();
+                }
 
-        try {
-            Files.copy(sourceFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            plugin.getLogger().info("Backup created: " + backupFile.getPath());
+                List<File> existing = listBackups(backupFolder, pattern);
+                if (!existing.isEmpty() && Arrays.equals(Hashes.sha256(content), Hashes.sha256(read(existing.get(0))))) {
+                    plugin.getLogger().info("Backup skipped, " + sourceName + " is identical to " + existing.get(0).getName());
+                    prune(plugin, existing, maxCount, maxAgeMillis);
+                    return null;
+                }
+
+                File backupFile = newBackupFile(backupFolder, baseName, suffix);
+                AtomicFiles.write(backupFile.toPath(), gzip(content));
+                plugin.getLogger().info("Backup created: " + backupFile.getPath());
+
+                existing.add(0, backupFile);
+                prune(plugin, existing, maxCount, maxAgeMillis);
+                return backupFile;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Error occurred during backup creation!", e);
+                return null;
+            }
+        }
+    }
+
+    private static File newBackupFile(File backupFolder, String baseName, String suffix) {
+        String name = String.format("%s_%s_%s", baseName, suffix, LocalDateTime.now().format(DATE_FORMAT));
+        File backupFile = new File(backupFolder, name + EXTENSION);
+        for (int i = 1; backupFile.exists(); i++) {
+            backupFile = new File(backupFolder, name + "-" + i + EXTENSION);
+        }
+        return backupFile;
+    }
+
+    /**
+     * Backups of the file, newest first. Plain {@code .yml} backups of older versions are included.
+     */
+    private static List<File> listBackups(File backupFolder, Pattern pattern) {
+        File[] files = backupFolder.listFiles((dir, name) -> pattern.matcher(name).matches());
+        if (files == null) return new ArrayList<>();
+
+        List<File> backups = new ArrayList<>(Arrays.asList(files));
+        backups.sort(Comparator.comparingLong(File::lastModified).reversed().thenComparing(File::getName, Comparator.reverseOrder()));
+        return backups;
+    }
+
+    /**
+     * Deletes backups beyond {@code maxCount} and older than {@code maxAgeMillis}; the newest one is always kept.
+     */
+    private static void prune(JavaPlugin plugin, List<File> backups, int maxCount, long maxAgeMillis) {
+        long now = System.currentTimeMillis();
+        for (int i = 1; i < backups.size(); i++) {
+            File backup = backups.get(i);
+            boolean tooMany = maxCount > 0 && i >= maxCount;
+            boolean tooOld = maxAgeMillis > 0 && now - backup.lastModified() > maxAgeMillis;
+            if (!tooMany && !tooOld) continue;
+
+            try {
+                Files.deleteIfExists(backup.toPath());
+                plugin.getLogger().info("Old backup deleted: " + backup.getName());
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not delete old backup " + backup.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static long parseMaxAge(JavaPlugin plugin, String maxAge) {
+        if (maxAge.isEmpty()) return 0;
+        long millis = TimeParser.parseMillis(maxAge, 0);
+        if (millis <= 0) {
+            plugin.getLogger().warning("Invalid @Backup maxAge '" + maxAge + "', old backups are not pruned by age.");
+        }
+        return millis;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] read(File backup) throws IOException {
+        byte[] data = Files.readAllBytes(backup.toPath());
+        if (!backup.getName().endsWith(".gz")) return data;
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
         } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Error occurred during backup creation!", e);
+            return new byte[0];
         }
     }
-}
\ No newline at end of file
+}
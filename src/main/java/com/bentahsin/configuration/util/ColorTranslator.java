@@ -0,0 +1,249 @@
+package com.bentahsin.configuration.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Translates {@code &} color codes and {@code &#RRGGBB} hex colors into the {@code §} form Minecraft uses,
+ * e.g. {@code "&aHello &#55CCFFworld"}.
+ * <p>
+ * Translation is a single pass over the characters, without regular expressions. Hex colors are written as the
+ * {@code §x§r§r§g§g§b§b} sequence that {@code net.md_5.bungee.api.ChatColor.of} produces; on servers without it
+ * (before 1.16) they are left as they are. Recently translated strings are kept in a small LRU cache, so
+ * repeating messages are not translated again. All methods are thread-safe and can be used from async chat events.
+ */
+public final class ColorTranslator {
+
+    public static final char COLOR_CHAR = '\u00A7';
+    public static final char ALT_COLOR_CHAR = '&';
+
+    /**
+     * Bit per ASCII char for the code chars {@code 0-9}, {@code a-f}, {@code k-o}, {@code r} and {@code x}, in both cases.
+     */
+    private static final long CODES_LOW = 0x03FF_0000_0000_0000L;
+    private static final long CODES_HIGH = codeBits("abcdefklmnorxABCDEFKLMNORX");
+    private static final int HEX_LENGTH = 6;
+
+    /**
+     * Strings longer than this are translated but not cached; they are rarely repeated word for word.
+     */
+    private static final int MAX_CACHED_LENGTH = 256;
+    private static final int CACHE_SIZE = 512;
+
+    private static final boolean SUPPORTS_HEX;
+
+    static {
+        boolean hex = false;
+        try {
+            Class<?> chatColorClass = Class.forName("net.md_5.bungee.api.ChatColor");
+            MethodHandles.publicLookup().findStatic(chatColorClass, "of", MethodType.methodType(chatColorClass, String.class));
+            hex = true;
+        } catch (Exception | LinkageError ignored) {}
+        SUPPORTS_HEX = hex;
+    }
+
+    private static final Map<String, String> CACHE = new LinkedHashMap<String, String>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private ColorTranslator() {}
+
+    /**
+     * Whether the server can show {@code &#RRGGBB} colors.
+     */
+    public static boolean supportsHex() {
+        return SUPPORTS_HEX;
+    }
+
+    /**
+     * Translates {@code &} codes and {@code &#RRGGBB} colors. Text without {@code &} is returned as is.
+     *
+     * @return the translated text, or {@code null} if the input is {@code null}
+     */
+    public static String translate(String text) {
+        if (text == null || text.indexOf(ALT_COLOR_CHAR) < 0) return text;
+        if (text.length() > MAX_CACHED_LENGTH) return translateUncached(text);
+
+        String cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(text);
+        }
+        if (cached != null) return cached;
+
+        String translated = translateUncached(text);
+        synchronized (CACHE) {
+            CACHE.put(text, translated);
+        }
+        return translated;
+    }
+
+    /**
+     * Same as {@link #translate(String)}, without the cache. Meant for text that is only shown once,
+     * e.g. a message with player input already in it.
+     */
+    public static String translateUncached(String text) {
+        if (text == null) return null;
+        int first = text.indexOf(ALT_COLOR_CHAR);
+        if (first < 0) return text;
+
+        int length = text.length();
+        char[] in = text.toCharArray();
+        if (!SUPPORTS_HEX || text.indexOf('#', first) < 0) {
+            // Nothing changes length, so codes are replaced in place.
+            for (int i = first; i < in.length - 1; i++) {
+                if (in[i] == ALT_COLOR_CHAR && isCode(in[i + 1])) {
+                    in[i] = COLOR_CHAR;
+                    in[i + 1] = lower(in[i + 1]);
+                    i++;
+                }
+            }
+            return new String(in);
+        }
+
+        // A hex color grows from 8 to 14 chars.
+        char[] out = new char[length + (length * 3 + 3) / 4];
+        System.arraycopy(in, 0, out, 0, first);
+        int n = first;
+        for (int i = first; i < length; i++) {
+            char c = in[i];
+            if (c != ALT_COLOR_CHAR || i + 1 == length) {
+                out[n++] = c;
+                continue;
+            }
+
+            char next = in[i + 1];
+            if (next == '#' && SUPPORTS_HEX && isHex(in, i + 2)) {
+                out[n++] = COLOR_CHAR;
+                out[n++] = 'x';
+                for (int j = i + 2; j < i + 2 + HEX_LENGTH; j++) {
+                    out[n++] = COLOR_CHAR;
+                    out[n++] = lower(in[j]);
+                }
+                i += 1 + HEX_LENGTH;
+            } else if (isCode(next)) {
+                out[n++] = COLOR_CHAR;
+                out[n++] = lower(next);
+                i++;
+            } else {
+                out[n++] = c;
+            }
+        }
+        return new String(out, 0, n);
+    }
+
+    /**
+     * Turns translated text back into the config form: {@code §x§5§5§c§c§f§f} becomes {@code &#55ccff},
+     * other {@code §} codes become {@code &} codes. Code letters and hex digits are written in lowercase, the same
+     * way {@link #translate(String)} normalizes them, so {@code &A} and {@code &#55CCFF} come back as {@code &a}
+     * and {@code &#55ccff}; lowercase text survives a translate/untranslate round trip unchanged.
+     *
+     * @return the config form, or {@code null} if the input is {@code null}
+     */
+    public static String untranslate(String text) {
+        if (text == null) return null;
+        int first = text.indexOf(COLOR_CHAR);
+        if (first < 0) return text;
+
+        int length = text.length();
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(text, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = text.charAt(i);
+            if (c != COLOR_CHAR || i + 1 == length) {
+                sb.append(c);
+                continue;
+            }
+
+            char next = text.charAt(i + 1);
+            if ((next == 'x' || next == 'X') && isSectionHex(text, i + 2)) {
+                sb.append(ALT_COLOR_CHAR).append('#');
+                for (int j = i + 3; j < i + 2 + HEX_LENGTH * 2; j += 2) {
+                    sb.append(lower(text.charAt(j)));
+                }
+                i += 1 + HEX_LENGTH * 2;
+            } else if (isCode(next)) {
+                sb.append(ALT_COLOR_CHAR).append(lower(next));
+                i++;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Removes {@code §} codes, including hex colors.
+     *
+     * @return the plain text, or {@code null} if the input is {@code null}
+     */
+    public static String strip(String text) {
+        if (text == null) return null;
+        int first = text.indexOf(COLOR_CHAR);
+        if (first < 0) return text;
+
+        int length = text.length();
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(text, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == COLOR_CHAR && i + 1 < length && isCode(text.charAt(i + 1))) {
+                i++;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Empties the translation cache, e.g. after a reload that replaced most messages.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static boolean isHex(char[] chars, int start) {
+        if (start + HEX_LENGTH > chars.length) return false;
+        for (int i = start; i < start + HEX_LENGTH; i++) {
+            if (!isHexDigit(chars[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks for six {@code §h} pairs starting at {@code start}.
+     */
+    private static boolean isSectionHex(String text, int start) {
+        if (start + HEX_LENGTH * 2 > text.length()) return false;
+        for (int i = start; i < start + HEX_LENGTH * 2; i += 2) {
+            if (text.charAt(i) != COLOR_CHAR || !isHexDigit(text.charAt(i + 1))) return false;
+        }
+        return true;
+    }
+
+    private static long codeBits(String chars) {
+        long bits = 0;
+        for (int i = 0; i < chars.length(); i++) bits |= 1L << (chars.charAt(i) - 64);
+        return bits;
+    }
+
+    private static boolean isCode(char c) {
+        if (c < 64) return (CODES_LOW & (1L << c)) != 0;
+        return c < 128 && (CODES_HIGH & (1L << (c - 64))) != 0;
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
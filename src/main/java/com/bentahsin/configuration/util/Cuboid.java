@@ -6,43 +6,85 @@ import org.bukkit.World;
 
 import java.util.Objects;
 
+/**
+ * An immutable box of blocks in one world. The corners keep the order they were given in
+ * ({@link #getX1()} ... {@link #getZ2()}), the normalized bounds are computed once for {@code contains} checks.
+ * Many regions are best kept in a {@link CuboidIndex}.
+ */
 @SuppressWarnings("unused")
 public class Cuboid {
     private final String worldName;
     private final int x1, y1, z1;
     private final int x2, y2, z2;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
 
     public Cuboid(String worldName, int x1, int y1, int z1, int x2, int y2, int z2) {
-        this.worldName = worldName;
+        this.worldName = Objects.requireNonNull(worldName, "worldName");
         this.x1 = x1;
         this.y1 = y1;
         this.z1 = z1;
         this.x2 = x2;
         this.y2 = y2;
         this.z2 = z2;
+        this.minX = Math.min(x1, x2);
+        this.minY = Math.min(y1, y2);
+        this.minZ = Math.min(z1, z2);
+        this.maxX = Math.max(x1, x2);
+        this.maxY = Math.max(y1, y2);
+        this.maxZ = Math.max(z1, z2);
     }
 
     public Cuboid(Location l1, Location l2) {
+        this(worldOf(l1, l2), l1.getBlockX(), l1.getBlockY(), l1.getBlockZ(), l2.getBlockX(), l2.getBlockY(), l2.getBlockZ());
+    }
+
+    private static String worldOf(Location l1, Location l2) {
         if (!Objects.equals(l1.getWorld(), l2.getWorld()))
             throw new IllegalArgumentException("Locations must be in the same world");
-        this.worldName = Objects.requireNonNull(l1.getWorld()).getName();
-        this.x1 = l1.getBlockX();
-        this.y1 = l1.getBlockY();
-        this.z1 = l1.getBlockZ();
-        this.x2 = l2.getBlockX();
-        this.y2 = l2.getBlockY();
-        this.z2 = l2.getBlockZ();
+        return Objects.requireNonNull(l1.getWorld()).getName();
+    }
+
+    /**
+     * Parses {@code "world,x1,y1,z1,x2,y2,z2"}.
+     *
+     * @throws IllegalArgumentException if the text is not in that format
+     */
+    public static Cuboid parse(String text) {
+        int worldEnd = text.indexOf(',');
+        if (worldEnd <= 0) throw new IllegalArgumentException("Invalid cuboid '" + text + "': expected world,x1,y1,z1,x2,y2,z2");
+
+        int[] values = new int[6];
+        int start = worldEnd + 1;
+        for (int i = 0; i < values.length; i++) {
+            int end = text.indexOf(',', start);
+            if (end < 0) {
+                if (i != values.length - 1) throw new IllegalArgumentException("Invalid cuboid '" + text + "': expected world,x1,y1,z1,x2,y2,z2");
+                end = text.length();
+            }
+            try {
+                values[i] = Integer.parseInt(text.substring(start, end).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cuboid '" + text + "': '" + text.substring(start, end).trim() + "' is not a whole number");
+            }
+            start = end + 1;
+        }
+        return new Cuboid(text.substring(0, worldEnd).trim(), values[0], values[1], values[2], values[3], values[4], values[5]);
     }
 
     public boolean contains(Location loc) {
-        if (!Objects.requireNonNull(loc.getWorld()).getName().equals(worldName)) return false;
-        int minX = Math.min(x1, x2), maxX = Math.max(x1, x2);
-        int minY = Math.min(y1, y2), maxY = Math.max(y1, y2);
-        int minZ = Math.min(z1, z2), maxZ = Math.max(z1, z2);
-
-        return loc.getBlockX() >= minX && loc.getBlockX() <= maxX &&
-                loc.getBlockY() >= minY && loc.getBlockY() <= maxY &&
-                loc.getBlockZ() >= minZ && loc.getBlockZ() <= maxZ;
+        return contains(Objects.requireNonNull(loc.getWorld()).getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    public boolean contains(String worldName, int x, int y, int z) {
+        return contains(x, y, z) && this.worldName.equals(worldName);
+    }
+
+    /**
+     * Checks the block coordinates only, ignoring the world.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
     }
 
     public Location getCenter() {
@@ -61,9 +103,30 @@ public class Cuboid {
     public int getX2() { return x2; }
     public int getY2() { return y2; }
     public int getZ2() { return z2; }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cuboid)) return false;
+        Cuboid other = (Cuboid) o;
+        return x1 == other.x1 && y1 == other.y1 && z1 == other.z1
+                && x2 == other.x2 && y2 == other.y2 && z2 == other.z2
+                && worldName.equals(other.worldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(worldName, x1, y1, z1, x2, y2, z2);
+    }
 
     @Override
     public String toString() {
         return worldName + "," + x1 + "," + y1 + "," + z1 + "," + x2 + "," + y2 + "," + z2;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,465 @@
+package com.bentahsin.configuration.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Named {@link Cuboid} regions, indexed for "which regions contain this block" checks, e.g. on every
+ * {@code PlayerMoveEvent}.
+ * <p>
+ * Regions are put into a per-world grid of 16x16 chunk columns, so a lookup only checks the regions touching
+ * that chunk, whatever the total number of regions. Lookups allocate nothing. Regions that would cover more than
+ * {@value #MAX_CELLS} cells go into a second grid of 512x512 columns instead, and the very few that are too big
+ * for that as well are checked one by one.
+ * <p>
+ * Can be bound straight from a config section of {@code id: "world,x1,y1,z1,x2,y2,z2"} entries:
+ * <pre>{@code
+ * public CuboidIndex arenas = new CuboidIndex();
+ * }</pre>
+ * On reload only the regions that were added, removed or changed are re-indexed, and the field keeps the same
+ * index instance. Lookups are thread-safe and never see a half-applied update; updates are serialized.
+ */
+public final class CuboidIndex {
+
+    static final int MAX_CELLS = 256;
+
+    private static final int FINE_SHIFT = 4;
+    private static final int COARSE_SHIFT = 9;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public CuboidIndex() {
+    }
+
+    public CuboidIndex(Map<String, Cuboid> regions) {
+        update(regions);
+    }
+
+    /**
+     * Replaces the regions with the given ones, re-indexing only those that differ from the current ones.
+     * Iteration order follows {@code regions}.
+     */
+    public synchronized void update(Map<String, Cuboid> regions) {
+        Snapshot current = snapshot;
+        Map<String, Entry> byId = new LinkedHashMap<>(regions.size() * 4 / 3 + 1);
+        List<Entry> removed = new ArrayList<>();
+        List<Entry> added = new ArrayList<>();
+
+        for (Map.Entry<String, Cuboid> region : regions.entrySet()) {
+            String id = Objects.requireNonNull(region.getKey(), "id");
+            Cuboid cuboid = Objects.requireNonNull(region.getValue(), "cuboid");
+            Entry old = current.byId.get(id);
+            if (old != null && old.cuboid.equals(cuboid)) {
+                byId.put(id, old);
+                continue;
+            }
+            if (old != null) removed.add(old);
+            Entry entry = new Entry(id, cuboid);
+            byId.put(id, entry);
+            added.add(entry);
+        }
+        for (Entry old : current.byId.values()) {
+            if (!regions.containsKey(old.id)) removed.add(old);
+        }
+
+        if (removed.isEmpty() && added.isEmpty()) return;
+        snapshot = current.apply(byId, removed, added);
+    }
+
+    /**
+     * Same as {@link #update(Map)} with the regions of another index.
+     */
+    public void update(CuboidIndex other) {
+        update(other.asMap());
+    }
+
+    /**
+     * Adds or replaces one region.
+     */
+    public synchronized void put(String id, Cuboid cuboid) {
+        Map<String, Cuboid> regions = new LinkedHashMap<>(asMap());
+        regions.put(id, cuboid);
+        update(regions);
+    }
+
+    public synchronized boolean remove(String id) {
+        if (!snapshot.byId.containsKey(id)) return false;
+        Map<String, Cuboid> regions = new LinkedHashMap<>(asMap());
+        regions.remove(id);
+        update(regions);
+        return true;
+    }
+
+    public synchronized void clear() {
+        update(Collections.emptyMap());
+    }
+
+    public Cuboid get(String id) {
+        Entry entry = snapshot.byId.get(id);
+        return entry == null ? null : entry.cuboid;
+    }
+
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    public boolean isEmpty() {
+        return snapshot.byId.isEmpty();
+    }
+
+    /**
+     * A copy of the regions by id.
+     */
+    public Map<String, Cuboid> asMap() {
+        Map<String, Entry> byId = snapshot.byId;
+        Map<String, Cuboid> map = new LinkedHashMap<>(byId.size() * 4 / 3 + 1);
+        for (Entry entry : byId.values()) {
+            map.put(entry.id, entry.cuboid);
+        }
+        return map;
+    }
+
+    /**
+     * @return whether any region contains the block
+     */
+    public boolean contains(Location location) {
+        return findEntry(worldName(location), location.getBlockX(), location.getBlockY(), location.getBlockZ()) != null;
+    }
+
+    public boolean contains(String worldName, int x, int y, int z) {
+        return findEntry(worldName, x, y, z) != null;
+    }
+
+    /**
+     * @return a region containing the block, or {@code null}. If several do, smaller regions come first.
+     */
+    public Cuboid find(Location location) {
+        return find(worldName(location), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public Cuboid find(String worldName, int x, int y, int z) {
+        Entry entry = findEntry(worldName, x, y, z);
+        return entry == null ? null : entry.cuboid;
+    }
+
+    /**
+     * @return the id of a region containing the block, or {@code null}; see {@link #find(Location)}
+     */
+    public String findId(Location location) {
+        return findId(worldName(location), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public String findId(String worldName, int x, int y, int z) {
+        Entry entry = findEntry(worldName, x, y, z);
+        return entry == null ? null : entry.id;
+    }
+
+    /**
+     * Calls {@code action} with the id and region of every region containing the block.
+     * Nothing is allocated as long as {@code action} does not capture anything.
+     */
+    public void forEach(Location location, BiConsumer<String, Cuboid> action) {
+        forEach(worldName(location), location.getBlockX(), location.getBlockY(), location.getBlockZ(), action);
+    }
+
+    public void forEach(String worldName, int x, int y, int z, BiConsumer<String, Cuboid> action) {
+        WorldGrid grid = snapshot.worlds.get(worldName);
+        if (grid == null) return;
+
+        accept(grid.fine.get(cellKey(x >> FINE_SHIFT, z >> FINE_SHIFT)), x, y, z, action);
+        accept(grid.coarse.get(cellKey(x >> COARSE_SHIFT, z >> COARSE_SHIFT)), x, y, z, action);
+        accept(grid.large, x, y, z, action);
+    }
+
+    private static void accept(Entry[] entries, int x, int y, int z, BiConsumer<String, Cuboid> action) {
+        if (entries == null) return;
+        for (Entry entry : entries) {
+            if (entry.cuboid.contains(x, y, z)) action.accept(entry.id, entry.cuboid);
+        }
+    }
+
+    /**
+     * @return the ids of all regions containing the block, grouped by size and then in the order they were added
+     */
+    public List<String> getIds(Location location) {
+        List<String> ids = new ArrayList<>(2);
+        forEach(location, (id, cuboid) -> ids.add(id));
+        return ids;
+    }
+
+    private Entry findEntry(String worldName, int x, int y, int z) {
+        WorldGrid grid = snapshot.worlds.get(worldName);
+        if (grid == null) return null;
+
+        Entry entry = first(grid.fine.get(cellKey(x >> FINE_SHIFT, z >> FINE_SHIFT)), x, y, z);
+        if (entry == null) entry = first(grid.coarse.get(cellKey(x >> COARSE_SHIFT, z >> COARSE_SHIFT)), x, y, z);
+        if (entry == null) entry = first(grid.large, x, y, z);
+        return entry;
+    }
+
+    private static Entry first(Entry[] entries, int x, int y, int z) {
+        if (entries == null) return null;
+        for (Entry entry : entries) {
+            if (entry.cuboid.contains(x, y, z)) return entry;
+        }
+        return null;
+    }
+
+    private static String worldName(Location location) {
+        World world = Objects.requireNonNull(location.getWorld(), "world");
+        return world.getName();
+    }
+
+    private static long cellKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long cellCount(Cuboid cuboid, int shift) {
+        long width = (long) (cuboid.getMaxX() >> shift) - (cuboid.getMinX() >> shift) + 1;
+        long depth = (long) (cuboid.getMaxZ() >> shift) - (cuboid.getMinZ() >> shift) + 1;
+        return width * depth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof CuboidIndex && asMap().equals(((CuboidIndex) o).asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CuboidIndex" + asMap();
+    }
+
+    private static final class Entry {
+        final String id;
+        final Cuboid cuboid;
+
+        Entry(String id, Cuboid cuboid) {
+            this.id = id;
+            this.cuboid = cuboid;
+        }
+    }
+
+    /**
+     * Published state, never modified after publishing. An update copies only the worlds it touches; within
+     * them the cell arrays are shared and only the cells of changed regions are replaced.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+        final Map<String, Entry> byId;
+        final Map<String, WorldGrid> worlds;
+
+        Snapshot(Map<String, Entry> byId, Map<String, WorldGrid> worlds) {
+            this.byId = byId;
+            this.worlds = worlds;
+        }
+
+        Snapshot apply(Map<String, Entry> byId, List<Entry> removed, List<Entry> added) {
+            Map<String, WorldGrid> worlds = new HashMap<>(this.worlds);
+            Map<String, WorldGrid> copied = new HashMap<>();
+
+            for (Entry entry : removed) {
+                WorldGrid grid = copied.computeIfAbsent(entry.cuboid.getWorldName(), name -> copyOf(worlds.get(name)));
+                grid.remove(entry);
+            }
+            for (Entry entry : added) {
+                WorldGrid grid = copied.computeIfAbsent(entry.cuboid.getWorldName(), name -> copyOf(worlds.get(name)));
+                grid.add(entry);
+            }
+            for (Map.Entry<String, WorldGrid> grid : copied.entrySet()) {
+                if (grid.getValue().isEmpty()) {
+                    worlds.remove(grid.getKey());
+                } else {
+                    worlds.put(grid.getKey(), grid.getValue());
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(byId), worlds);
+        }
+
+        private static WorldGrid copyOf(WorldGrid grid) {
+            if (grid == null) return new WorldGrid(new CellMap(16), new CellMap(16), new Entry[0]);
+            return new WorldGrid(grid.fine.copy(), grid.coarse.copy(), grid.large);
+        }
+    }
+
+    private static final class WorldGrid {
+        final CellMap fine;
+        final CellMap coarse;
+        Entry[] large;
+
+        WorldGrid(CellMap fine, CellMap coarse, Entry[] large) {
+            this.fine = fine;
+            this.coarse = coarse;
+            this.large = large;
+        }
+
+        boolean isEmpty() {
+            return fine.size() == 0 && coarse.size() == 0 && large.length == 0;
+        }
+
+        void add(Entry entry) {
+            Cuboid cuboid = entry.cuboid;
+            if (cellCount(cuboid, FINE_SHIFT) <= MAX_CELLS) {
+                addCells(fine, FINE_SHIFT, entry);
+            } else if (cellCount(cuboid, COARSE_SHIFT) <= MAX_CELLS) {
+                addCells(coarse, COARSE_SHIFT, entry);
+            } else {
+                large = with(large, entry);
+            }
+        }
+
+        void remove(Entry entry) {
+            Cuboid cuboid = entry.cuboid;
+            if (cellCount(cuboid, FINE_SHIFT) <= MAX_CELLS) {
+                removeCells(fine, FINE_SHIFT, entry);
+            } else if (cellCount(cuboid, COARSE_SHIFT) <= MAX_CELLS) {
+                removeCells(coarse, COARSE_SHIFT, entry);
+            } else {
+                large = without(large, entry);
+            }
+        }
+
+        private static void addCells(CellMap cells, int shift, Entry entry) {
+            Cuboid cuboid = entry.cuboid;
+            for (int cx = cuboid.getMinX() >> shift; cx <= cuboid.getMaxX() >> shift; cx++) {
+                for (int cz = cuboid.getMinZ() >> shift; cz <= cuboid.getMaxZ() >> shift; cz++) {
+                    long key = cellKey(cx, cz);
+                    Entry[] cell = cells.get(key);
+                    cells.put(key, cell == null ? new Entry[]{entry} : with(cell, entry));
+                }
+            }
+        }
+
+        private static void removeCells(CellMap cells, int shift, Entry entry) {
+            Cuboid cuboid = entry.cuboid;
+            for (int cx = cuboid.getMinX() >> shift; cx <= cuboid.getMaxX() >> shift; cx++) {
+                for (int cz = cuboid.getMinZ() >> shift; cz <= cuboid.getMaxZ() >> shift; cz++) {
+                    long key = cellKey(cx, cz);
+                    Entry[] cell = cells.get(key);
+                    if (cell == null) continue;
+                    Entry[] rest = without(cell, entry);
+                    if (rest.length == 0) {
+                        cells.remove(key);
+                    } else {
+                        cells.put(key, rest);
+                    }
+                }
+            }
+        }
+
+        private static Entry[] with(Entry[] entries, Entry entry) {
+            Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+            result[entries.length] = entry;
+            return result;
+        }
+
+        private static Entry[] without(Entry[] entries, Entry entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] != entry) continue;
+                Entry[] result = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, result, 0, i);
+                System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                return result;
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Open-addressing map from a packed chunk position to the regions touching that chunk,
+     * so that lookups neither box the key nor allocate.
+     */
+    private static final class CellMap {
+        private long[] keys;
+        private Entry[][] values;
+        private int size;
+
+        CellMap(int capacity) {
+            keys = new long[capacity];
+            values = new Entry[capacity][];
+        }
+
+        private CellMap(long[] keys, Entry[][] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        CellMap copy() {
+            return new CellMap(keys.clone(), values.clone(), size);
+        }
+
+        int size() {
+            return size;
+        }
+
+        Entry[] get(long key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return null;
+        }
+
+        void put(long key, Entry[] value) {
+            if ((size + 1) * 4 > keys.length * 3) resize();
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (values[i] != null && keys[i] != key) i = (i + 1) & mask;
+            if (values[i] == null) return;
+
+            // Backward-shift deletion: move later entries of the probe chain into the gap.
+            values[i] = null;
+            size--;
+            for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (between) continue;
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Entry[][] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Entry[oldKeys.length * 2][];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
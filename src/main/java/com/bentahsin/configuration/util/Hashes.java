@@ -0,0 +1,24 @@
+package com.bentahsin.configuration.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content hashing helpers used to detect whether a file actually changed.
+ */
+public final class Hashes {
+
+    private Hashes() {}
+
+    /**
+     * SHA-256 digest of the given bytes.
+     */
+    public static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+}
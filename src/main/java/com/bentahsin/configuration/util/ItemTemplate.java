@@ -0,0 +1,79 @@
+package com.bentahsin.configuration.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Objects;
+
+/**
+ * A configured item that is converted once and handed out as copies, e.g. for GUI buttons.
+ * <p>
+ * Use it instead of an {@link ItemStack} field when the item is given out often: {@link #create()} only clones
+ * the prepared item, without parsing, color translation or enchantment lookups. The template itself is never
+ * handed out, so it cannot be changed by accident.
+ * <pre>{@code
+ * public ItemTemplate closeButton = ItemTemplate.of(new ItemStack(Material.BARRIER));
+ * }</pre>
+ */
+public final class ItemTemplate {
+
+    private final ItemStack prototype;
+
+    private ItemTemplate(ItemStack prototype) {
+        this.prototype = prototype;
+    }
+
+    /**
+     * A template of a copy of {@code item}; later changes to {@code item} do not affect it.
+     */
+    public static ItemTemplate of(ItemStack item) {
+        return new ItemTemplate(Objects.requireNonNull(item, "item").clone());
+    }
+
+    /**
+     * @return a new copy of the item
+     */
+    public ItemStack create() {
+        return prototype.clone();
+    }
+
+    /**
+     * @return a new copy of the item with the given amount
+     */
+    public ItemStack create(int amount) {
+        ItemStack item = prototype.clone();
+        item.setAmount(amount);
+        return item;
+    }
+
+    public Material getType() {
+        return prototype.getType();
+    }
+
+    public int getAmount() {
+        return prototype.getAmount();
+    }
+
+    /**
+     * Whether {@code item} is this item, ignoring the amount (e.g. to recognize a clicked GUI button).
+     */
+    public boolean isSimilar(ItemStack item) {
+        return prototype.isSimilar(item);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof ItemTemplate && prototype.equals(((ItemTemplate) o).prototype);
+    }
+
+    @Override
+    public int hashCode() {
+        return prototype.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ItemTemplate{" + prototype + "}";
+    }
+}
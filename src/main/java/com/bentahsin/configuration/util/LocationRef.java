@@ -0,0 +1,191 @@
+package com.bentahsin.configuration.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A location whose world is looked up when it is used, not when the config is loaded.
+ * <p>
+ * Configs can be loaded before worlds of other plugins (e.g. Multiverse) exist. The coordinates are parsed
+ * once; the {@link World} is resolved on first access and cached until any world is loaded or unloaded,
+ * which {@link com.bentahsin.configuration.Configuration} reports through {@link #invalidateWorlds()}.
+ * As long as no such world listener is registered (before the plugin is enabled, or outside a server),
+ * the world is looked up again on every access instead.
+ * Instances are immutable and thread-safe.
+ * <p>
+ * Format: {@code "world,x,y,z"} or {@code "world,x,y,z,yaw,pitch"}, same as {@code LocationConverter}.
+ */
+public final class LocationRef {
+
+    /**
+     * Bumped on every world load/unload; a cached lookup from an older generation is done again.
+     */
+    private static final AtomicInteger WORLD_GENERATION = new AtomicInteger();
+
+    /**
+     * Whether world load/unload events reach {@link #invalidateWorlds()}; without them the cache could go stale.
+     */
+    private static volatile boolean worldEventsTracked;
+
+    private final String worldName;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+
+    private volatile Resolved resolved;
+
+    public LocationRef(String worldName, double x, double y, double z, float yaw, float pitch) {
+        this.worldName = Objects.requireNonNull(worldName, "worldName");
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+    }
+
+    public LocationRef(String worldName, double x, double y, double z) {
+        this(worldName, x, y, z, 0, 0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the location has no world
+     */
+    public static LocationRef of(Location location) {
+        World world = location.getWorld();
+        if (world == null) throw new IllegalArgumentException("Location has no world");
+        return new LocationRef(world.getName(), location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Parses {@code "world,x,y,z[,yaw,pitch]"}. The world does not need to exist yet.
+     *
+     * @throws IllegalArgumentException if the text is not in that format
+     */
+    public static LocationRef parse(String text) {
+        int worldEnd = text.indexOf(',');
+        if (worldEnd <= 0) throw new IllegalArgumentException("Invalid location '" + text + "': expected world,x,y,z");
+
+        double[] values = new double[5];
+        int count = 0;
+        int start = worldEnd + 1;
+        while (start <= text.length()) {
+            int end = text.indexOf(',', start);
+            if (end < 0) end = text.length();
+            if (count == values.length) throw new IllegalArgumentException("Invalid location '" + text + "': too many values");
+            try {
+                values[count++] = Double.parseDouble(text.substring(start, end).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid location '" + text + "': '" + text.substring(start, end).trim() + "' is not a number");
+            }
+            start = end + 1;
+        }
+        if (count < 3) {
+            throw new IllegalArgumentException("Invalid location '" + text + "': expected world,x,y,z[,yaw,pitch]");
+        }
+        return new LocationRef(text.substring(0, worldEnd).trim(), values[0], values[1], values[2],
+                (float) values[3], (float) values[4]);
+    }
+
+    /**
+     * Makes every {@code LocationRef} look its world up again on next access.
+     * Called when a world is loaded or unloaded.
+     */
+    public static void invalidateWorlds() {
+        WORLD_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Tells whether world load/unload events are being reported through {@link #invalidateWorlds()}.
+     * While they are not, cached worlds are not trusted and every access looks the world up again.
+     */
+    public static void setWorldEventsTracked(boolean tracked) {
+        worldEventsTracked = tracked;
+        WORLD_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * @return the world, or {@code null} if it is not loaded (yet)
+     */
+    public World getWorld() {
+        if (!worldEventsTracked) return Bukkit.getWorld(worldName);
+
+        int generation = WORLD_GENERATION.get();
+        Resolved current = resolved;
+        if (current != null && current.generation == generation) {
+            return current.world.get();
+        }
+
+        World world = Bukkit.getWorld(worldName);
+        resolved = new Resolved(world, generation);
+        return world;
+    }
+
+    public boolean isWorldLoaded() {
+        return getWorld() != null;
+    }
+
+    /**
+     * @return a new {@link Location}, or {@code null} if the world is not loaded
+     */
+    public Location toLocation() {
+        World world = getWorld();
+        return world == null ? null : new Location(world, x, y, z, yaw, pitch);
+    }
+
+    public String getWorldName() { return worldName; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public float getYaw() { return yaw; }
+    public float getPitch() { return pitch; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LocationRef)) return false;
+        LocationRef other = (LocationRef) o;
+        return worldName.equals(other.worldName)
+                && Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0 && Double.compare(z, other.z) == 0
+                && Float.compare(yaw, other.yaw) == 0 && Float.compare(pitch, other.pitch) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(worldName, x, y, z, yaw, pitch);
+    }
+
+    /**
+     * The config form, {@code "world,x,y,z,yaw,pitch"}.
+     */
+    @Override
+    public String toString() {
+        return worldName + "," + format(x) + "," + format(y) + "," + format(z) + "," + format(yaw) + "," + format(pitch);
+    }
+
+    private static String format(double d) {
+        if (d == (long) d) return Long.toString((long) d);
+        return String.format(Locale.ENGLISH, "%.2f", d);
+    }
+
+    /**
+     * The world is only weakly held, so that a cached reference does not keep an unloaded world in memory.
+     */
+    private static final class Resolved {
+        final WeakReference<World> world;
+        final int generation;
+
+        Resolved(World world, int generation) {
+            this.world = new WeakReference<>(world);
+            this.generation = generation;
+        }
+    }
+}
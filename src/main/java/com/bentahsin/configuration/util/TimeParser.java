@@ -0,0 +1,209 @@
+package com.bentahsin.configuration.util;
+
+import java.time.Duration;
+
+/**
+ * Parses durations such as {@code "1h30m"}, {@code "2d 12h"}, {@code "1.5s"} or {@code "20t"}.
+ * <p>
+ * Units (case-insensitive): {@code ms}, {@code t} (tick, 50 ms), {@code s}, {@code m}, {@code h}, {@code d},
+ * {@code w} and {@code mo} (30 days). Segments may be separated by whitespace, numbers may have a fraction,
+ * and a number without a unit at the end counts as seconds ({@code "90"} is 90 seconds).
+ * <p>
+ * Parsing is a single pass over the characters without allocating anything, so it is cheap enough for
+ * command arguments. Malformed input (unknown units, stray characters, overflow) is rejected with an
+ * {@link IllegalArgumentException}; {@link #parseMillis(CharSequence, long)} returns a fallback instead.
+ */
+public final class TimeParser {
+
+    public static final long MILLIS_PER_TICK = 50;
+
+    private static final long SECOND = 1000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long WEEK = 7 * DAY;
+    private static final long MONTH = 30 * DAY;
+
+    /**
+     * Fraction digits beyond this are ignored; a nanosecond of a month is below a millisecond anyway.
+     */
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    /**
+     * Returned by the lenient parse on malformed input; parsed values are never negative.
+     */
+    private static final long INVALID = -1;
+
+    private TimeParser() {}
+
+    /**
+     * @return the duration in milliseconds, fractions rounded down to whole milliseconds
+     * @throws IllegalArgumentException if the input is empty or malformed
+     */
+    public static long parseMillis(CharSequence input) {
+        return parse(input, true);
+    }
+
+    /**
+     * Same as {@link #parseMillis(CharSequence)}, but returns {@code fallback} on malformed input
+     * instead of throwing. Meant for user input such as command arguments.
+     */
+    public static long parseMillis(CharSequence input, long fallback) {
+        if (input == null) return fallback;
+        long millis = parse(input, false);
+        return millis == INVALID ? fallback : millis;
+    }
+
+    /**
+     * @return the duration in seconds, rounded to the nearest second
+     * @throws IllegalArgumentException if the input is empty or malformed
+     */
+    public static long parseSeconds(CharSequence input) {
+        return roundedDiv(parseMillis(input), SECOND);
+    }
+
+    /**
+     * @return the duration in server ticks, rounded to the nearest tick
+     * @throws IllegalArgumentException if the input is empty or malformed
+     */
+    public static long parseTicks(CharSequence input) {
+        return roundedDiv(parseMillis(input), MILLIS_PER_TICK);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the input is empty or malformed
+     */
+    public static Duration parseDuration(CharSequence input) {
+        return Duration.ofMillis(parseMillis(input));
+    }
+
+    /**
+     * Formats milliseconds the way they are written to config files, e.g. {@code "1d 2h 30m"} or {@code "1s 500ms"}.
+     * Weeks and months are not used since months are not exact. Zero is {@code "0s"}.
+     */
+    public static String format(long millis) {
+        if (millis <= 0) return "0s";
+
+        StringBuilder sb = new StringBuilder(16);
+        millis = append(sb, millis, DAY, "d");
+        millis = append(sb, millis, HOUR, "h");
+        millis = append(sb, millis, MINUTE, "m");
+        millis = append(sb, millis, SECOND, "s");
+        append(sb, millis, 1, "ms");
+        return sb.toString();
+    }
+
+    private static long append(StringBuilder sb, long millis, long unit, String suffix) {
+        long amount = millis / unit;
+        if (amount == 0) return millis;
+        if (sb.length() > 0) sb.append(' ');
+        sb.append(amount).append(suffix);
+        return millis - amount * unit;
+    }
+
+    private static long roundedDiv(long value, long divisor) {
+        long quotient = value / divisor;
+        return value - quotient * divisor >= (divisor + 1) / 2 ? quotient + 1 : quotient;
+    }
+
+    private static long parse(CharSequence input, boolean strict) {
+        int length = input.length();
+        int i = skipWhitespace(input, 0);
+        if (i == length) return fail(input, i, "empty duration", strict);
+
+        long total = 0;
+        while (i < length) {
+            // Number: digits with an optional fraction
+            int numberStart = i;
+            long whole = 0;
+            while (i < length && isDigit(input.charAt(i))) {
+                int digit = input.charAt(i) - '0';
+                if (whole > (Long.MAX_VALUE - digit) / 10) return fail(input, numberStart, "number too large", strict);
+                whole = whole * 10 + digit;
+                i++;
+            }
+            long fraction = 0;
+            int fractionDigits = 0;
+            if (i < length && input.charAt(i) == '.') {
+                i++;
+                while (i < length && isDigit(input.charAt(i))) {
+                    if (fractionDigits < MAX_FRACTION_DIGITS) {
+                        fraction = fraction * 10 + (input.charAt(i) - '0');
+                        fractionDigits++;
+                    }
+                    i++;
+                }
+                if (i - numberStart == 1) return fail(input, numberStart, "expected a number", strict);
+            }
+            if (i == numberStart) return fail(input, i, "expected a number", strict);
+
+            // Unit: a run of letters, or nothing at the very end (seconds)
+            i = skipWhitespace(input, i);
+            int unitStart = i;
+            while (i < length && isLetter(input.charAt(i))) i++;
+
+            long unit;
+            if (unitStart == i) {
+                if (i < length) return fail(input, i, "unexpected character '" + input.charAt(i) + "'", strict);
+                unit = SECOND;
+            } else {
+                unit = unitMillis(input, unitStart, i);
+                if (unit == INVALID) return fail(input, unitStart, "unknown unit '" + input.subSequence(unitStart, i) + "'", strict);
+            }
+
+            if (whole > Long.MAX_VALUE / unit) return fail(input, numberStart, "duration too large", strict);
+            long segment = whole * unit + fraction * unit / POWERS_OF_TEN[fractionDigits];
+            if (segment < 0 || total > Long.MAX_VALUE - segment) return fail(input, numberStart, "duration too large", strict);
+            total += segment;
+
+            i = skipWhitespace(input, i);
+        }
+        return total;
+    }
+
+    private static long unitMillis(CharSequence input, int start, int end) {
+        char first = lower(input.charAt(start));
+        if (end - start == 1) {
+            switch (first) {
+                case 't': return MILLIS_PER_TICK;
+                case 's': return SECOND;
+                case 'm': return MINUTE;
+                case 'h': return HOUR;
+                case 'd': return DAY;
+                case 'w': return WEEK;
+                default: return INVALID;
+            }
+        }
+        if (end - start == 2 && first == 'm') {
+            char second = lower(input.charAt(start + 1));
+            if (second == 's') return 1;
+            if (second == 'o') return MONTH;
+        }
+        return INVALID;
+    }
+
+    private static long fail(CharSequence input, int index, String reason, boolean strict) {
+        if (!strict) return INVALID;
+        throw new IllegalArgumentException("Invalid duration '" + input + "' at position " + index + ": " + reason);
+    }
+
+    private static int skipWhitespace(CharSequence input, int i) {
+        while (i < input.length() && Character.isWhitespace(input.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bentahsin.configuration.validation;
+
+/**
+ * A cross-field check, registered on a config class with {@link com.bentahsin.configuration.annotation.Constraint}.
+ * <p>
+ * Runs after all fields of the class are loaded. Implementations need a no-args constructor.
+ * <pre>
+ * public class PortRange implements ConfigConstraint&lt;Database&gt; {
+ *     public void validate(Database config, ValidationReport report) {
+ *         if (config.minPort &gt; config.maxPort) report.add("min-port", config.minPort, "min-port &lt;= max-port");
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> The config class
+ */
+public interface ConfigConstraint<T> {
+    void validate(T config, ValidationReport report);
+}
@@ -0,0 +1,89 @@
+package com.bentahsin.configuration.validation;
+
+import com.bentahsin.configuration.annotation.Validate;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A {@link Validate} rule compiled once per field.
+ * <p>
+ * The regex is compiled up front, so checking a 20k element list costs one match per element
+ * instead of one {@code Pattern.compile} per element.
+ */
+public final class FieldValidator {
+
+    private final boolean notNull;
+    private final boolean hasMin;
+    private final boolean hasMax;
+    private final double min;
+    private final double max;
+    private final Pattern pattern;
+    private final String patternRule;
+    private final int minSize;
+    private final int maxSize;
+
+    private FieldValidator(Validate validate) {
+        this.notNull = validate.notNull();
+        // Double.MIN_VALUE is the annotation default and means "no lower bound".
+        this.hasMin = validate.min() != Double.MIN_VALUE;
+        this.hasMax = validate.max() != Double.MAX_VALUE;
+        this.min = validate.min();
+        this.max = validate.max();
+        this.minSize = validate.minSize();
+        this.maxSize = validate.maxSize();
+
+        Pattern compiled = null;
+        String rule = null;
+        if (!validate.pattern().isEmpty()) {
+            try {
+                compiled = Pattern.compile(validate.pattern());
+                rule = "pattern=" + validate.pattern();
+            } catch (PatternSyntaxException e) {
+                rule = "invalid pattern in code: " + validate.pattern();
+            }
+        }
+        this.pattern = compiled;
+        this.patternRule = rule;
+    }
+
+    /**
+     * Compiles the given rule, or returns {@code null} if there is none.
+     */
+    public static FieldValidator compile(Validate validate) {
+        return validate == null ? null : new FieldValidator(validate);
+    }
+
+    /**
+     * Checks a single value.
+     *
+     * @return the failed rule, or {@code null} if the value is valid
+     */
+    public String check(Object value) {
+        if (value == null) {
+            return notNull ? "notNull" : null;
+        }
+
+        if (value instanceof Number) {
+            double val = ((Number) value).doubleValue();
+            if (hasMin && val < min) return "min=" + min;
+            if (hasMax && val > max) return "max=" + max;
+        }
+
+        if (value instanceof String && patternRule != null) {
+            if (pattern == null || !pattern.matcher((String) value).matches()) return patternRule;
+        }
+        return null;
+    }
+
+    /**
+     * Checks the size of a list or map.
+     *
+     * @return the failed rule, or {@code null} if the size is within bounds
+     */
+    public String checkSize(int size) {
+        if (size < minSize) return "minSize=" + minSize;
+        if (size > maxSize) return "maxSize=" + maxSize;
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bentahsin.configuration.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Collects every validation failure of a single load pass.
+ * <p>
+ * Rejected values are not applied; the field keeps its default value.
+ */
+public final class ValidationReport {
+
+    private final List<Violation> violations = new ArrayList<>();
+
+    /**
+     * Records a failed rule.
+     *
+     * @param path  Full config path of the value (e.g. "database.port" or "whitelist[3]")
+     * @param value The rejected value
+     * @param rule  The rule that failed (e.g. "max=10.0")
+     */
+    public void add(String path, Object value, String rule) {
+        violations.add(new Violation(path, value, rule));
+    }
+
+    public boolean isEmpty() {
+        return violations.isEmpty();
+    }
+
+    public int size() {
+        return violations.size();
+    }
+
+    public List<Violation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Writes the whole report as a single warning. Does nothing if there are no violations.
+     */
+    public void log(Logger logger, String source) {
+        if (violations.isEmpty()) return;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Config validation failed for ").append(source)
+                .append(" (").append(violations.size()).append(" problem(s)):");
+        for (Violation violation : violations) {
+            sb.append(System.lineSeparator()).append("  - ").append(violation);
+        }
+        logger.warning(sb.toString());
+    }
+
+    /**
+     * A single failed rule: where it happened, what was rejected and why.
+     */
+    public static final class Violation {
+        private final String path;
+        private final Object value;
+        private final String rule;
+
+        Violation(String path, Object value, String rule) {
+            this.path = path;
+            this.value = value;
+            this.rule = rule;
+        }
+
+        public String getPath() { return path; }
+        public Object getValue() { return value; }
+        public String getRule() { return rule; }
+
+        @Override
+        public String toString() {
+            return path + ": '" + value + "' violates " + rule;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bentahsin.configuration;
+
+import com.bentahsin.configuration.util.Hashes;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The cache no longer re-checks every entry it writes, so the codec has to rebuild exactly the tree the
+ * YAML parser produces for every value type it accepts.
+ */
+class ParseCacheTest {
+
+    private static final String YAML = "# Header line\n"
+            + "# second line\n"
+            + "\n"
+            + "config-version: 3\n"
+            + "text: 'Ünicode \"quoted\" §a'\n"
+            + "multiline: |-\n"
+            + "  first\n"
+            + "  second\n"
+            + "int: 42\n"
+            + "long: 3000000000\n"
+            + "big: 123456789012345678901234567890\n"
+            + "double: 0.25\n"
+            + "flag: true\n"
+            + "empty-list: []\n"
+            + "empty-section: {}\n"
+            + "list:\n"
+            + "- a\n"
+            + "- 1\n"
+            + "- 2.5\n"
+            + "- false\n"
+            + "- [nested, 7]\n"
+            + "maps:\n"
+            + "- name: first\n"
+            + "  amount: 3\n"
+            + "- 1: numeric key\n"
+            + "  inner:\n"
+            + "    deep: x\n"
+            + "shop:\n"
+            + "  items:\n"
+            + "    sword:\n"
+            + "      price: 5\n"
+            + "      lore:\n"
+            + "      - '&aSharp'\n"
+            + "  title: Market\n";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void rebuildsTheParsedTree() throws Exception {
+        File file = write(YAML);
+        YamlConfiguration parsed = parse(YAML);
+        ParseCache cache = cache();
+        cache.store(file, digest(YAML), parsed);
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        assertTrue(cache.load(file, digest(YAML), loaded));
+        assertEquals(parsed.saveToString(), loaded.saveToString());
+        assertEquals(parsed.getKeys(true), loaded.getKeys(true));
+        for (String path : parsed.getKeys(true)) {
+            if (!parsed.isConfigurationSection(path)) assertEquals(parsed.get(path), loaded.get(path), path);
+        }
+        assertSame(loaded, loaded.getConfigurationSection("shop.items").getRoot());
+        assertSame(loaded.getConfigurationSection("shop"), loaded.getConfigurationSection("shop.items").getParent());
+    }
+
+    @Test
+    void keepsValueTypes() throws Exception {
+        File file = write(YAML);
+        ParseCache cache = cache();
+        cache.store(file, digest(YAML), parse(YAML));
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        assertTrue(cache.load(file, digest(YAML), loaded));
+        assertEquals(Integer.class, loaded.get("int").getClass());
+        assertEquals(Long.class, loaded.get("long").getClass());
+        assertEquals(Double.class, loaded.get("double").getClass());
+        assertEquals(Boolean.class, loaded.get("flag").getClass());
+        assertEquals(parse(YAML).get("big").getClass(), loaded.get("big").getClass());
+    }
+
+    @Test
+    void skipsTreesWithUnsupportedValues() throws Exception {
+        File file = write(YAML);
+        YamlConfiguration tree = parse(YAML);
+        tree.set("when", new Date());
+        cache().store(file, digest(YAML), tree);
+
+        assertFalse(cacheFile().exists());
+    }
+
+    @Test
+    void missesWhenTheContentChanged() throws Exception {
+        File file = write(YAML);
+        ParseCache cache = cache();
+        cache.store(file, digest(YAML), parse(YAML));
+
+        YamlConfiguration target = new YamlConfiguration();
+        assertFalse(cache.load(file, digest(YAML + "extra: 1\n"), target));
+        assertTrue(target.getKeys(false).isEmpty());
+    }
+
+    @Test
+    void ignoresATruncatedEntry() throws Exception {
+        File file = write(YAML);
+        ParseCache cache = cache();
+        cache.store(file, digest(YAML), parse(YAML));
+
+        byte[] entry = Files.readAllBytes(cacheFile().toPath());
+        Files.write(cacheFile().toPath(), Arrays.copyOf(entry, entry.length - 12));
+
+        YamlConfiguration target = new YamlConfiguration();
+        assertFalse(cache.load(file, digest(YAML), target));
+        assertTrue(target.getKeys(false).isEmpty());
+        assertFalse(cacheFile().exists());
+    }
+
+    private ParseCache cache() {
+        return new ParseCache(folder.toFile(), Logger.getLogger(ParseCacheTest.class.getName()));
+    }
+
+    private File write(String yaml) throws IOException {
+        File file = folder.resolve("config.yml").toFile();
+        Files.write(file.toPath(), yaml.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private File cacheFile() {
+        return folder.resolve(".cache").resolve("config.yml.bin").toFile();
+    }
+
+    private static YamlConfiguration parse(String yaml) throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(yaml);
+        return config;
+    }
+
+    private static byte[] digest(String yaml) {
+        return Hashes.sha256(yaml.getBytes(StandardCharsets.UTF_8));
+    }
+}